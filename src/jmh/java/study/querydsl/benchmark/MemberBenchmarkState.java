@@ -0,0 +1,95 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.repository.GenerationResult;
+import study.querydsl.repository.MemberDataGenerator;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import java.util.function.Supplier;
+
+/*
+* 벤치마크 공통 상태
+* 인메모리 H2로 애플리케이션을 띄우고 MemberDataGenerator로 rows 건의 회원 데이터를 적재
+* - 쿼리 경로 자체를 측정하기 위해 결과 캐시 / 2차 캐시 / SQL 로그는 끔
+* */
+@State(Scope.Benchmark)
+public class MemberBenchmarkState {
+
+    public static final int TEAM_COUNT = 100;
+
+    private static final String[] BENCHMARK_ARGS = {
+            "--spring.profiles.active=bench",
+            "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--spring.jpa.properties.hibernate.use_sql_comments=false",
+            "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+            "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+            "--member.search-cache.enabled=false",
+            "--decorator.datasource.enabled=false",
+            "--logging.level.root=warn",
+            "--logging.level.org.hibernate.SQL=warn"
+    };
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    public ConfigurableApplicationContext context;
+    public MemberJpaRepository memberJpaRepository;
+    public MemberDataGenerator memberDataGenerator;
+    public GenerationResult generated;
+    public JPAQueryFactory queryFactory;
+    public TransactionTemplate readOnlyTx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(BENCHMARK_ARGS);
+
+        memberDataGenerator = context.getBean(MemberDataGenerator.class);
+        generated = memberDataGenerator.generate(TEAM_COUNT, rows);
+
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        queryFactory = new JPAQueryFactory(context.getBean(EntityManager.class));
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /*
+    * 호출마다 새 트랜잭션(새 영속성 컨텍스트)에서 실행
+    * */
+    public <T> T readOnly(Supplier<T> action) {
+        return readOnlyTx.execute(status -> action.get());
+    }
+
+    public MemberSearchCond searchCond() {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("team" + (TEAM_COUNT / 2));
+        cond.setAgeGoe(20);
+        cond.setAgeLoe(30);
+        return cond;
+    }
+
+    public String username() {
+        return memberDataGenerator.usernameOf(generated.getFirstMemberId() + rows / 2);
+    }
+}
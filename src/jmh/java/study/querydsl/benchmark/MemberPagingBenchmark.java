@@ -0,0 +1,61 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+* 페이징 조회 비교: 단일 쿼리(searchPage) vs id 페이징 후 IN 조회(searchPageByIds)
+* depth: 전체 결과 중 조회할 페이지 위치(%)
+* 실행: ./gradlew jmh -Pjmh.includes=MemberPagingBenchmark
+* */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberPagingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @State(Scope.Benchmark)
+    public static class PageState {
+
+        @Param({"0", "50", "99"})
+        public int depth;
+
+        public MemberSearchCond cond;
+        public PageRequest pageRequest;
+
+        @Setup(Level.Trial)
+        public void setUp(MemberBenchmarkState state) {
+            // 나이는 평균 35 정규분포이므로 30세 이상은 약 2/3
+            cond = new MemberSearchCond();
+            cond.setAgeGoe(30);
+            long matched = state.readOnly(() -> state.memberJpaRepository
+                    .searchPage(cond, PageRequest.of(0, 1))
+                    .getTotalElements());
+            int page = (int) (matched * depth / 100 / PAGE_SIZE);
+            pageRequest = PageRequest.of(page, PAGE_SIZE);
+        }
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> singleQuery(MemberBenchmarkState state, PageState page) {
+        return state.readOnly(() -> state.memberJpaRepository.searchPage(page.cond, page.pageRequest));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> idsThenHydrate(MemberBenchmarkState state, PageState page) {
+        return state.readOnly(() -> state.memberJpaRepository.searchPageByIds(page.cond, page.pageRequest));
+    }
+}
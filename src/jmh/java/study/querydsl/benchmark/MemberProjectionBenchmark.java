@@ -0,0 +1,67 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamColumns;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+* 대량 조회 결과 형태: MemberTeamDto 목록 vs 컬럼(MemberTeamColumns) vs 컬럼 배치 스트리밍
+* 세 방식 모두 같은 행을 읽고 나이 합계를 계산 (할당량 비교는 -prof gc 의 gc.alloc.rate.norm)
+* 실행: ./gradlew jmh -Pjmh.includes=MemberProjectionBenchmark -Pjmh.profilers=gc
+* */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberProjectionBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Benchmark
+    public void dtoList(MemberBenchmarkState state, Blackhole blackhole) {
+        List<MemberTeamDto> rows = state.readOnly(() -> state.memberJpaRepository.searchWhereParam(condition()));
+        long ageSum = 0;
+        for (MemberTeamDto row : rows) {
+            ageSum += row.getAge();
+            blackhole.consume(row.getTeamName());
+        }
+        blackhole.consume(ageSum);
+    }
+
+    @Benchmark
+    public void columns(MemberBenchmarkState state, Blackhole blackhole) {
+        MemberTeamColumns columns = state.readOnly(() -> state.memberJpaRepository.searchColumns(condition()));
+        long ageSum = 0;
+        for (MemberTeamColumns.Cursor cursor = columns.cursor(); cursor.next(); ) {
+            ageSum += cursor.age();
+            blackhole.consume(cursor.teamName());
+        }
+        blackhole.consume(ageSum);
+    }
+
+    @Benchmark
+    public void streamColumns(MemberBenchmarkState state, Blackhole blackhole) {
+        long[] ageSum = new long[1];
+        state.readOnlyTx.executeWithoutResult(status -> state.memberJpaRepository
+                .streamColumns(condition(), BATCH_SIZE, batch -> {
+                    for (MemberTeamColumns.Cursor cursor = batch.cursor(); cursor.next(); ) {
+                        ageSum[0] += cursor.age();
+                        blackhole.consume(cursor.teamName());
+                    }
+                }));
+        blackhole.consume(ageSum[0]);
+    }
+
+    // 팀 조건 없이 나이 범위만 (결과 행이 많은 내보내기 형태)
+    private static MemberSearchCond condition() {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setAgeGoe(40);
+        return cond;
+    }
+}
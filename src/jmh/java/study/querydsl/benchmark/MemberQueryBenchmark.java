@@ -0,0 +1,104 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/*
+* 리포지토리 조회 경로 비교
+* - 동적 쿼리: BooleanBuilder vs Where 다중 파라미터
+* - 단건 조회: JPQL 문자열 vs Querydsl
+* - 프로젝션: 엔티티 조회 vs QMemberTeamDto
+* - 연관관계: 지연 로딩 vs 페치 조인
+* 실행: ./gradlew jmh -Pjmh.includes=MemberQueryBenchmark
+* */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberQueryBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Benchmark
+    public List<MemberTeamDto> searchByBuilder(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.memberJpaRepository.searchByBuilder(state.searchCond()));
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchWhereParam(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.memberJpaRepository.searchWhereParam(state.searchCond()));
+    }
+
+    @Benchmark
+    public List<Member> findByUsernameJpql(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.memberJpaRepository.findByUsername(state.username()));
+    }
+
+    @Benchmark
+    public List<Member> findByUsernameQuerydsl(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.memberJpaRepository.findByUsernameQuerydsl(state.username()));
+    }
+
+    @Benchmark
+    public List<Member> entityProjection(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.queryFactory
+                .selectFrom(member)
+                .join(member.team, team)
+                .where(team.name.eq(state.searchCond().getTeamName()))
+                .limit(PAGE_SIZE)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> dtoProjection(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .join(member.team, team)
+                .where(team.name.eq(state.searchCond().getTeamName()))
+                .limit(PAGE_SIZE)
+                .fetch());
+    }
+
+    @Benchmark
+    public void lazyLoading(MemberBenchmarkState state, Blackhole blackhole) {
+        state.readOnly(() -> {
+            List<Member> members = state.queryFactory
+                    .selectFrom(member)
+                    .where(member.age.eq(30))
+                    .limit(PAGE_SIZE)
+                    .fetch();
+            // 팀마다 추가 쿼리 발생 (N+1)
+            for (Member findMember : members) {
+                blackhole.consume(findMember.getTeam().getName());
+            }
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void fetchJoin(MemberBenchmarkState state, Blackhole blackhole) {
+        state.readOnly(() -> {
+            List<Member> members = state.queryFactory
+                    .selectFrom(member)
+                    .join(member.team, team).fetchJoin()
+                    .where(member.age.eq(30))
+                    .limit(PAGE_SIZE)
+                    .fetch();
+            for (Member findMember : members) {
+                blackhole.consume(findMember.getTeam().getName());
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package study.querydsl.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberSnapshotSearch;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+* searchWhereParam 조건 검색: 메모리 스냅샷 vs DB
+* 벤치마크 상태는 스냅샷을 끄고 실행하므로 활성화한 MemberSnapshotSearch를 따로 만들어서 비교
+* 실행: ./gradlew jmh -Pjmh.includes=MemberSnapshotBenchmark
+* */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberSnapshotBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SnapshotState {
+
+        public MemberSnapshotSearch snapshotSearch;
+        public MemberSearchCond ageRange;
+
+        @Setup(Level.Trial)
+        public void setUp(MemberBenchmarkState state) {
+            snapshotSearch = new MemberSnapshotSearch(
+                    state.context.getBean(EntityManager.class),
+                    state.context.getBean(PlatformTransactionManager.class),
+                    new SimpleMeterRegistry(),
+                    true, Duration.ofHours(1), Duration.ofHours(1), 1000);
+            snapshotSearch.refresh();
+
+            // 팀 조건 없이 나이 범위만 (스냅샷 전체 스캔)
+            ageRange = new MemberSearchCond();
+            ageRange.setAgeGoe(79);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            snapshotSearch.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> teamAgeSnapshot(MemberBenchmarkState state, SnapshotState snapshot) {
+        return snapshot.snapshotSearch.search(state.searchCond()).orElseThrow();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> teamAgeDatabase(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.memberJpaRepository.searchWhereParam(state.searchCond()));
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> ageRangeSnapshot(SnapshotState snapshot) {
+        return snapshot.snapshotSearch.search(snapshot.ageRange).orElseThrow();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> ageRangeDatabase(MemberBenchmarkState state, SnapshotState snapshot) {
+        return state.readOnly(() -> state.memberJpaRepository.searchWhereParam(snapshot.ageRange));
+    }
+}
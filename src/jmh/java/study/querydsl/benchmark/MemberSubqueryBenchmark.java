@@ -0,0 +1,89 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.JPAExpressions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import study.querydsl.dto.MemberTeamAgeDto;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.QMember;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/*
+* 팀 집계 비교 조회: 상관 서브쿼리 vs 한 번의 조회
+* - 팀 최대 나이 회원 / 팀 평균 이상 회원: JPAExpressions 상관 서브쿼리 vs team_stats 롤업 조인
+* - 회원별 팀 평균: SELECT 절 상관 서브쿼리 vs team_stats 롤업 조인
+* 상관 서브쿼리는 회원마다 같은 팀 회원을 다시 집계하므로 팀 크기에 비례해서 느려짐 (큰 rows에서는 끝나지 않을 수 있음)
+* 실행: ./gradlew jmhJar 후 java -jar build/libs/querydsl-0.0.1-SNAPSHOT-jmh.jar MemberSubqueryBenchmark -p rows=1000,10000
+* */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberSubqueryBenchmark {
+
+    private static final QMember memberSub = new QMember("memberSub");
+
+    @Benchmark
+    public List<MemberTeamDto> oldestInTeamSubquery(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .join(member.team, team)
+                .where(member.age.eq(JPAExpressions
+                        .select(memberSub.age.max())
+                        .from(memberSub)
+                        .where(memberSub.team.eq(member.team))))
+                .orderBy(member.id.asc())
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> oldestInTeamRollup(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.memberJpaRepository.findOldestInTeam());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> aboveTeamAverageSubquery(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .join(member.team, team)
+                .where(member.age.goe(JPAExpressions
+                        .select(memberSub.age.avg())
+                        .from(memberSub)
+                        .where(memberSub.team.eq(member.team))))
+                .orderBy(member.id.asc())
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> aboveTeamAverageRollup(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.memberJpaRepository.findAboveTeamAverage());
+    }
+
+    @Benchmark
+    public List<Tuple> teamAverageSubquery(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.queryFactory
+                .select(member.id, member.username, member.age, team.id, team.name,
+                        JPAExpressions
+                                .select(memberSub.age.avg())
+                                .from(memberSub)
+                                .where(memberSub.team.eq(member.team)))
+                .from(member)
+                .join(member.team, team)
+                .orderBy(member.id.asc())
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamAgeDto> teamAverageRollup(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.memberJpaRepository.findWithTeamAgeStats());
+    }
+}
@@ -0,0 +1,72 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.types.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.UsernameMatch;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/*
+* username 자동 완성 검색: MemberUsernameIndex vs DB LIKE
+* username은 성씨 접두어 + member_id (예: kim1234)
+* 실행: ./gradlew jmh -Pjmh.includes=MemberUsernameSearchBenchmark
+* */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberUsernameSearchBenchmark {
+
+    private static final int LIMIT = 20;
+
+    @Benchmark
+    public List<MemberTeamDto> prefixIndex(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.memberJpaRepository
+                .searchByUsername(prefix(state), UsernameMatch.PREFIX, LIMIT));
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> prefixLike(MemberBenchmarkState state) {
+        return state.readOnly(() -> like(state, member.username.startsWithIgnoreCase(prefix(state))));
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> containsIndex(MemberBenchmarkState state) {
+        return state.readOnly(() -> state.memberJpaRepository
+                .searchByUsername(infix(state), UsernameMatch.CONTAINS, LIMIT));
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> containsLike(MemberBenchmarkState state) {
+        return state.readOnly(() -> like(state, member.username.containsIgnoreCase(infix(state))));
+    }
+
+    // 중간 회원 username 앞 5글자 (예: kim50)
+    private static String prefix(MemberBenchmarkState state) {
+        return state.username().substring(0, 5);
+    }
+
+    // 중간 회원 username 뒤 4글자 (예: 0500)
+    private static String infix(MemberBenchmarkState state) {
+        String username = state.username();
+        return username.substring(username.length() - 4);
+    }
+
+    private static List<MemberTeamDto> like(MemberBenchmarkState state, Predicate predicate) {
+        return state.queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(predicate)
+                .orderBy(member.id.asc())
+                .limit(LIMIT)
+                .fetch();
+    }
+}
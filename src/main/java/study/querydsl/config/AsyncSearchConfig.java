@@ -0,0 +1,54 @@
+package study.querydsl.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+* 비동기 회원 검색 전용 Executor
+* member.search.async.virtual-threads=true 이고 JDK가 지원하면(21+) 가상 스레드 사용,
+* 아니면 고정 크기 스레드 풀 사용
+* DB 동시 실행 수는 Executor 크기와 별개로 DatabaseBulkhead가 커넥션 풀 크기로 제한
+* */
+@Slf4j
+@Configuration
+public class AsyncSearchConfig {
+
+    @Bean
+    public Executor memberSearchExecutor(@Value("${member.search.async.virtual-threads:false}") boolean virtualThreads,
+                                         @Value("${member.search.async.pool-size:32}") int poolSize,
+                                         @Value("${member.search.async.queue-capacity:1000}") int queueCapacity) {
+        if (virtualThreads) {
+            ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualThreadExecutor != null) {
+                return virtualThreadExecutor;
+            }
+            log.warn("가상 스레드를 지원하지 않는 JDK입니다. 스레드 풀을 사용합니다. (java.version = {})",
+                    System.getProperty("java.version"));
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("member-search-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // 컴파일 대상이 Java 11이므로 리플렉션으로 호출
+    private ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
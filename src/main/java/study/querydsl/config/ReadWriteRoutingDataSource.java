@@ -0,0 +1,53 @@
+package study.querydsl.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/*
+* 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 복제본, 그 외는 primary로 라우팅
+* 트랜잭션 시작 후에 커넥션을 얻어야 readOnly 여부를 알 수 있으므로 LazyConnectionDataSourceProxy로 감싸서 사용
+* 복제본 커넥션 획득에 실패하면 복제본을 unavailable로 표시하고 primary 커넥션을 반환
+* */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealthMonitor replicaHealthMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthMonitor replicaHealthMonitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaHealthMonitor = replicaHealthMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && replicaHealthMonitor.isAvailable() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Route.PRIMARY) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            replicaHealthMonitor.markDown(e.getMessage());
+            return primary.getConnection();
+        }
+    }
+}
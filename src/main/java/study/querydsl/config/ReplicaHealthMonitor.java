@@ -0,0 +1,71 @@
+package study.querydsl.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+/*
+* 읽기 복제본 상태 확인
+* - 주기적으로 복제본 연결을 확인하고, lag-query가 있으면 복제 지연(초)을 조회
+* - 연결 실패 또는 지연이 max-lag를 넘으면 unavailable → 읽기 전용 트랜잭션도 primary로 라우팅
+* lag-query 예) MySQL + pt-heartbeat: SELECT TIMESTAMPDIFF(SECOND, ts, NOW()) FROM heartbeat.heartbeat
+* */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    private final DataSource replicaDataSource;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean available = true;
+
+    public ReplicaHealthMonitor(DataSource replicaDataSource, String lagQuery, Duration maxLag) {
+        this.replicaDataSource = replicaDataSource;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${member.datasource.replica.health-check-interval-millis:5000}")
+    public void check() {
+        try (Connection connection = replicaDataSource.getConnection()) {
+            if (lagQuery == null || lagQuery.isEmpty()) {
+                markUp();
+                return;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                long lagSeconds = resultSet.next() ? resultSet.getLong(1) : Long.MAX_VALUE;
+                if (lagSeconds > maxLag.getSeconds()) {
+                    markDown("복제 지연 " + lagSeconds + "초 (허용 " + maxLag.getSeconds() + "초)");
+                } else {
+                    markUp();
+                }
+            }
+        } catch (Exception e) {
+            markDown(e.getMessage());
+        }
+    }
+
+    public void markDown(String reason) {
+        if (available) {
+            log.warn("읽기 복제본 사용 중지, primary로 전환: {}", reason);
+        }
+        available = false;
+    }
+
+    public void markUp() {
+        if (!available) {
+            log.info("읽기 복제본 사용 재개");
+        }
+        available = true;
+    }
+}
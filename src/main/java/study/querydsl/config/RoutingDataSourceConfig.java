@@ -0,0 +1,70 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/*
+* 읽기 / 쓰기 DataSource 분리 (member.datasource.replica.enabled=true 일 때만 적용)
+* - primary: spring.datasource.*
+* - replica: member.datasource.replica.* (커넥션 풀 설정은 member.datasource.replica.hikari.*)
+* */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "member.datasource.replica.enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // spring.datasource의 DataSourceProperties 주입과 충돌하지 않도록 자동 주입 대상에서 제외
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("member.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("member.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = replicaDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                     @Value("${member.datasource.replica.lag-query:}") String lagQuery,
+                                                     @Value("${member.datasource.replica.max-lag:5s}") Duration maxLag) {
+        return new ReplicaHealthMonitor(replicaDataSource, lagQuery, maxLag);
+    }
+
+    /*
+    * p6spy 데코레이터가 커넥션을 감싸면서 실제 커넥션을 바로 꺼내므로 라우팅 프록시는 데코레이터 대상에서 제외
+    * (application.yml decorator.datasource.exclude-beans, SQL 로그는 primary / replica 풀에서 출력)
+    * */
+    @Bean
+    @Primary
+    public DataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaHealthMonitor));
+    }
+}
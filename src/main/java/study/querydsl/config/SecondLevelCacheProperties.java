@@ -0,0 +1,26 @@
+package study.querydsl.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+* Hibernate 2차 캐시 영역 설정
+* key: 영역 이름 (@Cache(region = ...), 쿼리 캐시 영역 이름)
+* maximum-size / ttl을 지정하지 않으면 제한 없음
+* */
+@Data
+@ConfigurationProperties(prefix = "member.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+        private Long maximumSize;
+        private Duration ttl;
+    }
+}
@@ -1,27 +1,246 @@
 package study.querydsl.controller;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.dto.MemberCursor;
+import study.querydsl.dto.MemberCursorResult;
 import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamColumns;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.UsernameMatch;
 import study.querydsl.repository.MemberJpaRepository;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_CURSOR_SIZE = 2000;
+    private static final int MAX_USERNAME_LIMIT = 100;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
     private final MemberJpaRepository memberJpaRepository;
+    private final ObjectMapper objectMapper;
 
+    /*
+    * 정렬: sort=ID_ASC | ID_DESC | USERNAME_ASC | USERNAME_DESC | AGE_ASC | AGE_DESC (MemberSort, 없으면 정렬하지 않음)
+    * */
     @GetMapping("/v1/members")
     public FindMemberResult searchV1(MemberSearchCond condition) {
         List<MemberTeamDto> result = memberJpaRepository.searchWhereParam(condition);
         return new FindMemberResult(result.size(),result);
     }
 
+    /*
+    * 비동기 조회: DB 조회 동안 서블릿 스레드를 반납
+    * */
+    @GetMapping("/v1/members/async")
+    public CompletableFuture<FindMemberResult<List<MemberTeamDto>>> searchV1Async(MemberSearchCond condition) {
+        return memberJpaRepository.searchWhereParamAsync(condition)
+                .thenApply(result -> new FindMemberResult<>(result.size(), result));
+    }
+
+    /*
+    * 스트리밍 응답: 응답 형태는 /v1/members와 같지만 count를 data 뒤에 기록
+    * 커서에서 읽은 행(MemberTeamColumns)을 JsonGenerator로 바로 응답 스트림에 쓰므로 결과 List / DTO를 만들지 않음
+    * - 배치마다 flush하므로 첫 행부터 바로 전송 (Accept-Encoding에 gzip이 있으면 gzip 압축)
+    * - 스냅샷 / 검색 결과 캐시를 거치지 않고 항상 DB에서 조회
+    * */
+    @GetMapping("/v1/members/stream")
+    @Transactional(readOnly = true)
+    public void searchV1Stream(MemberSearchCond condition,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptsGzip(request);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // syncFlush: 배치마다 압축된 데이터까지 내보냄
+        OutputStream out = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), STREAM_BUFFER_SIZE, true)
+                : response.getOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            long[] count = new long[1];
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            memberJpaRepository.streamColumns(condition, STREAM_BATCH_SIZE, batch -> {
+                try {
+                    for (MemberTeamColumns.Cursor row = batch.cursor(); row.next(); ) {
+                        writeRow(generator, row);
+                    }
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0] += batch.size();
+            });
+            generator.writeEndArray();
+            generator.writeNumberField("count", count[0]);
+            generator.writeEndObject();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // MemberTeamDto를 Jackson으로 직렬화한 것과 같은 필드
+    private void writeRow(JsonGenerator generator, MemberTeamColumns.Cursor row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("memberId", row.memberId());
+        generator.writeStringField("username", row.username());
+        generator.writeNumberField("age", row.age());
+        if (row.hasTeam()) {
+            generator.writeNumberField("teamId", row.teamId());
+        } else {
+            generator.writeNullField("teamId");
+        }
+        generator.writeStringField("teamName", row.teamName());
+        generator.writeEndObject();
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers.hasMoreElements()) {
+            if (headers.nextElement().toLowerCase(Locale.ROOT).contains("gzip")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+    * 페이징 조회
+    * twoPhase=true 이면 id만 먼저 페이징한 뒤 해당 페이지만 조회 (깊은 페이지용)
+    * */
+    @GetMapping("/v2/members")
+    public Page<MemberTeamDto> searchV2(MemberSearchCond condition, Pageable pageable,
+                                        @RequestParam(defaultValue = "false") boolean twoPhase) {
+        if (twoPhase) {
+            return memberJpaRepository.searchPageByIds(condition, pageable);
+        }
+        return memberJpaRepository.searchPage(condition, pageable);
+    }
+
+    /*
+    * 커서 기반 조회
+    * 첫 요청은 cursor 없이 orderBy(id | username)로 정렬 기준 지정, 이후 요청은 응답의 nextCursor 전달
+    * */
+    @GetMapping("/v3/members")
+    public MemberCursorResult searchV3(MemberSearchCond condition,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(defaultValue = "id") String orderBy,
+                                       @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_CURSOR_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size는 1 ~ " + MAX_CURSOR_SIZE + " 사이여야 합니다.");
+        }
+        return memberJpaRepository.searchByCursor(condition, toCursor(cursor, orderBy), size);
+    }
+
+    /*
+    * username 접두어 / 부분 일치 검색 (자동 완성)
+    * match = EXACT | PREFIX | CONTAINS (UsernameMatch), 결과는 member_id 오름차순 최대 limit 건
+    * */
+    @GetMapping("/v1/members/username")
+    public FindMemberResult<List<MemberTeamDto>> searchByUsername(@RequestParam String keyword,
+                                                                  @RequestParam(defaultValue = "PREFIX") UsernameMatch match,
+                                                                  @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_USERNAME_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit는 1 ~ " + MAX_USERNAME_LIMIT + " 사이여야 합니다.");
+        }
+        List<MemberTeamDto> result = memberJpaRepository.searchByUsername(keyword, match, limit);
+        return new FindMemberResult<>(result.size(), result);
+    }
+
+    /*
+    * 전체 결과 내보내기 (format = ndjson | csv)
+    * 커서에서 읽은 행을 바로 응답 스트림에 기록하므로 결과 건수와 상관없이 메모리 사용량이 일정
+    * */
+    @GetMapping("/v1/members/export")
+    @Transactional(readOnly = true)
+    public void export(MemberSearchCond condition,
+                       @RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equals(format);
+        if (!csv && !"ndjson".equals(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format은 ndjson 또는 csv여야 합니다.");
+        }
+
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+
+        Writer writer = response.getWriter();
+        try (Stream<MemberTeamDto> rows = memberJpaRepository.streamWhereParam(condition)) {
+            Iterator<MemberTeamDto> iterator = rows.iterator();
+            if (csv) {
+                writer.write("memberId,username,age,teamId,teamName\n");
+            }
+            while (iterator.hasNext()) {
+                MemberTeamDto row = iterator.next();
+                writer.write(csv ? toCsvLine(row) : objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private String toCsvLine(MemberTeamDto row) {
+        return row.getMemberId() + "," + csvValue(row.getUsername()) + "," + row.getAge() + ","
+                + (row.getTeamId() == null ? "" : row.getTeamId()) + "," + csvValue(row.getTeamName());
+    }
+
+    private String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private MemberCursor toCursor(String token, String orderBy) {
+        if (!"id".equals(orderBy) && !"username".equals(orderBy)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "orderBy는 id 또는 username이어야 합니다.");
+        }
+        if (token == null) {
+            return MemberCursor.first("username".equals(orderBy));
+        }
+        try {
+            return MemberCursor.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
     @Data
     static class FindMemberResult<T> {
         private int count;
@@ -0,0 +1,44 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.TeamMembersDto;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.repository.TeamJpaRepository;
+import study.querydsl.repository.TeamMemberFetch;
+import study.querydsl.repository.TeamStatsRepository;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamJpaRepository teamJpaRepository;
+    private final TeamStatsRepository teamStatsRepository;
+
+    @GetMapping("/v1/teams")
+    public Page<TeamMembersDto> teamsWithMembers(Pageable pageable,
+                                                 @RequestParam(defaultValue = "BATCH") TeamMemberFetch fetch) {
+        return teamJpaRepository.findWithMembers(pageable, fetch).map(TeamMembersDto::new);
+    }
+
+    /*
+    * 팀별 회원 수 / 나이 합계 / 평균 / 최소 / 최대 (team_stats 롤업 조회)
+    * */
+    @GetMapping("/v1/teams/stats")
+    public List<TeamStatsDto> teamStats() {
+        return teamStatsRepository.findAll();
+    }
+
+    @GetMapping("/v1/teams/{teamId}/stats")
+    public ResponseEntity<TeamStatsDto> teamStatsOf(@PathVariable Long teamId) {
+        return ResponseEntity.of(teamStatsRepository.findByTeamId(teamId));
+    }
+}
@@ -0,0 +1,75 @@
+package study.querydsl.dto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+* 키셋(seek) 페이징 커서
+* - ID 정렬: 마지막으로 조회한 memberId
+* - USERNAME 정렬: 마지막으로 조회한 (username, memberId), username이 null인 회원은 마지막에 memberId 순서 (lastUsername == null)
+* 클라이언트에는 내부 구조를 숨긴 토큰(Base64 URL)으로 전달
+* */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemberCursor {
+
+    private static final String ID_PREFIX = "i";
+    private static final String USERNAME_PREFIX = "u";
+    private static final String NULL_USERNAME_PREFIX = "n";
+    private static final String DELIMITER = ":";
+
+    private final boolean usernameOrder;
+    private final Long lastMemberId;
+    private final String lastUsername;
+
+    public static MemberCursor first(boolean usernameOrder) {
+        return new MemberCursor(usernameOrder, null, null);
+    }
+
+    public MemberCursor next(MemberTeamDto last) {
+        return new MemberCursor(usernameOrder, last.getMemberId(), usernameOrder ? last.getUsername() : null);
+    }
+
+    public boolean isFirst() {
+        return lastMemberId == null;
+    }
+
+    public String encode() {
+        String raw;
+        if (!usernameOrder) {
+            raw = ID_PREFIX + DELIMITER + lastMemberId;
+        } else if (lastUsername == null) {
+            raw = NULL_USERNAME_PREFIX + DELIMITER + lastMemberId;
+        } else {
+            raw = USERNAME_PREFIX + DELIMITER + lastMemberId + DELIMITER + lastUsername;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // username에 ':'가 포함될 수 있으므로 최대 3개로 분리
+            String[] parts = raw.split(DELIMITER, 3);
+
+            if (ID_PREFIX.equals(parts[0]) && parts.length == 2) {
+                return new MemberCursor(false, Long.valueOf(parts[1]), null);
+            }
+            if (NULL_USERNAME_PREFIX.equals(parts[0]) && parts.length == 2) {
+                return new MemberCursor(true, Long.valueOf(parts[1]), null);
+            }
+            if (USERNAME_PREFIX.equals(parts[0]) && parts.length == 3) {
+                return new MemberCursor(true, Long.valueOf(parts[1]), parts[2]);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서 토큰입니다: " + token, e);
+        }
+        throw new IllegalArgumentException("잘못된 커서 토큰입니다: " + token);
+    }
+}
@@ -1,6 +1,7 @@
 package study.querydsl.dto;
 
 import lombok.Data;
+import org.springframework.util.StringUtils;
 
 @Data
 public class MemberSearchCond {
@@ -9,4 +10,18 @@ public class MemberSearchCond {
     private String teamName;
     private Integer ageGoe;
     private Integer ageLoe;
+    private MemberSort sort;
+
+    /*
+    * 캐시 키 등으로 사용할 정규화된 복사본 (빈 문자열은 조건 없음(null)으로 취급)
+    * */
+    public MemberSearchCond normalize() {
+        MemberSearchCond normalized = new MemberSearchCond();
+        normalized.setUsername(StringUtils.hasText(username) ? username : null);
+        normalized.setTeamName(StringUtils.hasText(teamName) ? teamName : null);
+        normalized.setAgeGoe(ageGoe);
+        normalized.setAgeLoe(ageLoe);
+        normalized.setSort(sort);
+        return normalized;
+    }
 }
@@ -0,0 +1,15 @@
+package study.querydsl.dto;
+
+/*
+* 회원 검색 정렬 (허용 목록)
+* 인덱스가 있는 컬럼만 허용하고, 같은 값끼리는 member.id로 정렬해서 페이지 간 순서를 고정
+* 실제 OrderSpecifier 매핑은 MemberJpaRepository 참고
+* */
+public enum MemberSort {
+    ID_ASC,
+    ID_DESC,
+    USERNAME_ASC,
+    USERNAME_DESC,
+    AGE_ASC,
+    AGE_DESC
+}
@@ -0,0 +1,33 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+/*
+* 회원 + 소속 팀의 나이 통계
+* */
+@Data
+public class MemberTeamAgeDto {
+
+    private Long memberId;
+    private String username;
+    private Integer age;
+    private Long teamId;
+    private String teamName;
+    private double teamAvgAge;
+    private Integer teamMinAge;
+    private Integer teamMaxAge;
+
+    @QueryProjection
+    public MemberTeamAgeDto(Long memberId, String username, Integer age, Long teamId, String teamName,
+                            Long teamMemberCount, Long teamAgeSum, Integer teamMinAge, Integer teamMaxAge) {
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.teamAvgAge = (double) teamAgeSum / teamMemberCount;
+        this.teamMinAge = teamMinAge;
+        this.teamMaxAge = teamMaxAge;
+    }
+}
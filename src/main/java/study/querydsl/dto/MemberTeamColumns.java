@@ -0,0 +1,182 @@
+package study.querydsl.dto;
+
+import java.util.Arrays;
+
+/*
+* 회원 + 팀 검색 결과의 컬럼 형태 (MemberTeamDto 목록 대신 대량 조회 / 내보내기에 사용)
+* - 행마다 객체를 만들지 않고 기본형 배열에 저장하므로 id / 나이 박싱이 없음
+* - 팀 이름은 team_id별로 한 번만 읽어서 같은 문자열 인스턴스를 공유 (teamId == NO_TEAM 이면 팀 없음)
+* - clear() 후 재사용하면 배열과 팀 이름 사전도 그대로 재사용
+* Cursor로 행을 순서대로 읽을 수 있으며, 값은 모두 기본형 / String으로 반환
+* */
+public class MemberTeamColumns {
+
+    public static final long NO_TEAM = -1L;
+
+    private long[] memberIds;
+    private String[] usernames;
+    private int[] ages;
+    private long[] teamIds;
+    private String[] teamNames;
+    private int size;
+
+    // team_id → 팀 이름 (open addressing, 크기는 2의 거듭제곱)
+    private long[] dictionaryIds = new long[64];
+    private String[] dictionaryNames = new String[64];
+    private boolean[] dictionaryUsed = new boolean[64];
+    private int dictionarySize;
+
+    public MemberTeamColumns(int capacity) {
+        int initial = Math.max(capacity, 16);
+        memberIds = new long[initial];
+        usernames = new String[initial];
+        ages = new int[initial];
+        teamIds = new long[initial];
+        teamNames = new String[initial];
+    }
+
+    /*
+    * teamName은 teamName(teamId) / putTeam(teamId, name)으로 얻은 인스턴스를 전달
+    * */
+    public void add(long memberId, String username, int age, long teamId, String teamName) {
+        if (size == memberIds.length) {
+            int capacity = size * 2;
+            memberIds = Arrays.copyOf(memberIds, capacity);
+            usernames = Arrays.copyOf(usernames, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            teamIds = Arrays.copyOf(teamIds, capacity);
+            teamNames = Arrays.copyOf(teamNames, capacity);
+        }
+        memberIds[size] = memberId;
+        usernames[size] = username;
+        ages[size] = age;
+        teamIds[size] = teamId;
+        teamNames[size] = teamName;
+        size++;
+    }
+
+    /*
+    * 사전에 없으면 null (이름이 null인 팀은 매번 null)
+    * */
+    public String teamName(long teamId) {
+        int mask = dictionaryIds.length - 1;
+        for (int slot = slot(teamId, mask); dictionaryUsed[slot]; slot = (slot + 1) & mask) {
+            if (dictionaryIds[slot] == teamId) {
+                return dictionaryNames[slot];
+            }
+        }
+        return null;
+    }
+
+    public String putTeam(long teamId, String teamName) {
+        if (dictionarySize * 2 >= dictionaryIds.length) {
+            long[] ids = dictionaryIds;
+            String[] names = dictionaryNames;
+            boolean[] used = dictionaryUsed;
+            dictionaryIds = new long[ids.length * 2];
+            dictionaryNames = new String[names.length * 2];
+            dictionaryUsed = new boolean[used.length * 2];
+            dictionarySize = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (used[i]) {
+                    insert(ids[i], names[i]);
+                }
+            }
+        }
+        insert(teamId, teamName);
+        return teamName;
+    }
+
+    public void clear() {
+        // 이전 행의 문자열 참조를 남기지 않음
+        Arrays.fill(usernames, 0, size, null);
+        Arrays.fill(teamNames, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getMemberId(int row) {
+        return memberIds[row];
+    }
+
+    public String getUsername(int row) {
+        return usernames[row];
+    }
+
+    public int getAge(int row) {
+        return ages[row];
+    }
+
+    public boolean hasTeam(int row) {
+        return teamIds[row] != NO_TEAM;
+    }
+
+    public long getTeamId(int row) {
+        return teamIds[row];
+    }
+
+    public String getTeamName(int row) {
+        return teamNames[row];
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void insert(long teamId, String teamName) {
+        int mask = dictionaryIds.length - 1;
+        int slot = slot(teamId, mask);
+        while (dictionaryUsed[slot] && dictionaryIds[slot] != teamId) {
+            slot = (slot + 1) & mask;
+        }
+        if (!dictionaryUsed[slot]) {
+            dictionarySize++;
+        }
+        dictionaryUsed[slot] = true;
+        dictionaryIds[slot] = teamId;
+        dictionaryNames[slot] = teamName;
+    }
+
+    private static int slot(long teamId, int mask) {
+        return Long.hashCode(teamId * 0x9E3779B97F4A7C15L) & mask;
+    }
+
+    /*
+    * 행 순서대로 읽기 (next()가 true를 반환한 뒤 현재 행의 값 조회)
+    * */
+    public class Cursor {
+
+        private int row = -1;
+
+        public boolean next() {
+            return ++row < size;
+        }
+
+        public long memberId() {
+            return memberIds[row];
+        }
+
+        public String username() {
+            return usernames[row];
+        }
+
+        public int age() {
+            return ages[row];
+        }
+
+        public boolean hasTeam() {
+            return teamIds[row] != NO_TEAM;
+        }
+
+        public long teamId() {
+            return teamIds[row];
+        }
+
+        public String teamName() {
+            return teamNames[row];
+        }
+    }
+}
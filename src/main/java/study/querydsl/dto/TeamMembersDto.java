@@ -0,0 +1,23 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+public class TeamMembersDto {
+
+    private Long teamId;
+    private String teamName;
+    private List<MemberDto> members;
+
+    public TeamMembersDto(Team team) {
+        this.teamId = team.getId();
+        this.teamName = team.getName();
+        this.members = team.getMembers().stream()
+                .map(member -> new MemberDto(member.getUsername(), member.getAge()))
+                .collect(Collectors.toList());
+    }
+}
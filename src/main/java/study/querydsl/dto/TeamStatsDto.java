@@ -0,0 +1,30 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+@Data
+public class TeamStatsDto {
+
+    private Long teamId;
+    private String teamName;
+    private long memberCount;
+    private long ageSum;
+    private Double avgAge;
+    private Integer minAge;
+    private Integer maxAge;
+
+    /*
+    * 집계 행이 없는 팀(회원 0명)은 count / sum 0, 평균 / 최소 / 최대 null
+    * */
+    @QueryProjection
+    public TeamStatsDto(Long teamId, String teamName, Long memberCount, Long ageSum, Integer minAge, Integer maxAge) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.memberCount = memberCount != null ? memberCount : 0;
+        this.ageSum = ageSum != null ? ageSum : 0;
+        this.avgAge = this.memberCount > 0 ? (double) this.ageSum / this.memberCount : null;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+    }
+}
@@ -0,0 +1,12 @@
+package study.querydsl.dto;
+
+/*
+* username 검색 방식
+* EXACT는 username 인덱스(DB), PREFIX / CONTAINS는 MemberUsernameIndex(메모리 n-gram 색인)로 처리
+* PREFIX / CONTAINS는 대소문자를 구분하지 않음
+* */
+public enum UsernameMatch {
+    EXACT,
+    PREFIX,
+    CONTAINS
+}
@@ -0,0 +1,51 @@
+package study.querydsl.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/*
+* 분할 벌크 작업의 완료된 member_id 구간 (체크포인트)
+* 구간 UPDATE / DELETE와 같은 트랜잭션에서 저장되므로, 재시작 시 기록된 구간만 건너뛰면 됨
+* */
+@Entity
+@Table(name = "bulk_job_range",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bulk_job_range", columnNames = {"job_name", "range_start"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"jobName", "rangeStart", "rangeEnd", "affectedRows"})
+public class BulkJobRange {
+
+    @Id
+    @GeneratedValue(generator = "bulk_job_range_seq")
+    @GenericGenerator(name = "bulk_job_range_seq", strategy = "study.querydsl.entity.PooledSequenceGenerator",
+            parameters = @Parameter(name = "sequence_name", value = "bulk_job_range_seq"))
+    @Column(name = "bulk_job_range_id")
+    private Long id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(name = "range_start", nullable = false)
+    private Long rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private Long rangeEnd;
+
+    private long affectedRows;
+    private LocalDateTime completedAt;
+
+    public BulkJobRange(String jobName, Long rangeStart, Long rangeEnd, long affectedRows) {
+        this.jobName = jobName;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.affectedRows = affectedRows;
+        this.completedAt = LocalDateTime.now();
+    }
+}
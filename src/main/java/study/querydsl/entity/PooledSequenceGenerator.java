@@ -0,0 +1,32 @@
+package study.querydsl.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/*
+* pooled 최적화 시퀀스 생성기
+* 시퀀스 한 번 호출로 allocation size 만큼의 ID를 확보해서 INSERT 마다 시퀀스를 조회하지 않음
+* allocation size는 annotation 상수 대신 설정(querydsl.id.allocation_size)으로 조정
+* (DB 시퀀스의 increment와 같아야 하므로 운영 중 변경 시 시퀀스도 함께 변경해야 함)
+* */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "querydsl.id.allocation_size";
+    public static final String DEFAULT_ALLOCATION_SIZE = "50";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSettings()
+                .get(ALLOCATION_SIZE_SETTING);
+
+        params.setProperty(INCREMENT_PARAM, allocationSize != null ? allocationSize.toString() : DEFAULT_ALLOCATION_SIZE);
+        params.setProperty(OPT_PARAM, "pooled");
+        super.configure(type, params, serviceRegistry);
+    }
+}
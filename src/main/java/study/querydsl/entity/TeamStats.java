@@ -0,0 +1,33 @@
+package study.querydsl.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/*
+* 팀별 회원 나이 집계 (롤업 테이블)
+* TeamStatsRepository가 회원 변경 이벤트로 갱신하며, 회원이 없는 팀은 행이 없음
+* 평균은 저장하지 않고 age_sum / member_count로 계산
+* */
+@Entity
+@Table(name = "team_stats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"teamId", "memberCount", "ageSum", "minAge", "maxAge"})
+public class TeamStats {
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+
+    private long memberCount;
+    private long ageSum;
+    private int minAge;
+    private int maxAge;
+}
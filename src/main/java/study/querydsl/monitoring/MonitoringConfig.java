@@ -0,0 +1,63 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.repository.MemberSearchCache;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+public class MonitoringConfig {
+
+    @Bean
+    public StatementCountInspector statementCountInspector() {
+        return new StatementCountInspector();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(StatementCountInspector statementCountInspector) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCountInspector);
+    }
+
+    /*
+    * 검색 결과 캐시 hit / miss / eviction 메트릭 (cache=memberSearch)
+    * */
+    @Bean
+    public MeterBinder memberSearchCacheMetrics(MemberSearchCache memberSearchCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, memberSearchCache.getNativeCache(), "memberSearch");
+    }
+
+    /*
+    * Hibernate QueryPlanCache hit / miss 메트릭 (member.query.plan-cache, result=hit|miss)
+    * member.metrics.query-plan-cache=true일 때만 hibernate.generate_statistics를 켜고 등록
+    * 통계 수집은 SQL / 엔티티 로딩 / flush마다 카운터를 갱신하고 세션이 끝날 때마다 세션 통계를 로그로 남기므로
+    * (StatisticalLoggingSessionEventListener) 운영 기본값은 끔
+    * */
+    @Bean
+    @ConditionalOnProperty(name = "member.metrics.query-plan-cache", havingValue = "true")
+    public HibernatePropertiesCustomizer statisticsCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, "true");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "member.metrics.query-plan-cache", havingValue = "true")
+    public MeterBinder queryPlanCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            FunctionCounter.builder("member.query.plan-cache", statistics, Statistics::getQueryPlanCacheHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("member.query.plan-cache", statistics, Statistics::getQueryPlanCacheMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+}
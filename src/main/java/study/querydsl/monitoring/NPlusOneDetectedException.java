@@ -0,0 +1,18 @@
+package study.querydsl.monitoring;
+
+import java.util.Map;
+
+public class NPlusOneDetectedException extends IllegalStateException {
+
+    private final Map<String, Integer> repeatedShapes;
+
+    public NPlusOneDetectedException(String scope, int maxRepeated, Map<String, Integer> repeatedShapes) {
+        super("같은 형태의 SQL이 " + maxRepeated + "회를 초과해서 실행되었습니다 (N+1 의심). scope = "
+                + scope + ", shapes = " + repeatedShapes);
+        this.repeatedShapes = repeatedShapes;
+    }
+
+    public Map<String, Integer> getRepeatedShapes() {
+        return repeatedShapes;
+    }
+}
@@ -0,0 +1,84 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberCursorResult;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+* 리포지토리 메서드(논리 쿼리) 단위 메트릭
+* - member.repository.query: 실행 시간 히스토그램 (query, outcome 태그)
+* - member.repository.query.rows: 반환 행 수
+* - member.repository.query.statements: 실행된 SQL 수 (StatementCountInspector)
+* 스트림 반환 메서드는 커서를 연 시점까지만 측정되고 행 수는 기록하지 않음
+* */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> statementSummaries = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * study.querydsl.repository.MemberJpaRepository.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String query = joinPoint.getSignature().getName();
+        long statementsBefore = StatementCountInspector.currentCount();
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        try {
+            Object result = joinPoint.proceed();
+            recordRows(query, result);
+            return result;
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("member.repository.query")
+                    .tag("query", query)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+            statementSummaries.computeIfAbsent(query, name -> DistributionSummary
+                            .builder("member.repository.query.statements")
+                            .tag("query", name)
+                            .register(registry))
+                    .record(StatementCountInspector.currentCount() - statementsBefore);
+        }
+    }
+
+    private void recordRows(String query, Object result) {
+        long rows;
+        if (result instanceof Collection) {
+            rows = ((Collection<?>) result).size();
+        } else if (result instanceof Slice) {
+            rows = ((Slice<?>) result).getNumberOfElements();
+        } else if (result instanceof MemberCursorResult) {
+            rows = ((MemberCursorResult) result).getContent().size();
+        } else if (result instanceof Optional) {
+            rows = ((Optional<?>) result).isPresent() ? 1 : 0;
+        } else {
+            return;
+        }
+        rowSummaries.computeIfAbsent(query, name -> DistributionSummary
+                        .builder("member.repository.query.rows")
+                        .tag("query", name)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(rows);
+    }
+}
@@ -0,0 +1,27 @@
+package study.querydsl.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/*
+* Hibernate가 준비(prepare)하는 SQL 수를 스레드별로 집계
+* 리포지토리 메서드 실행 전후 값의 차이로 논리 쿼리당 실행된 SQL 수를 계산
+* 현재 스레드에 StatementTracker가 있으면 SQL 형태별 집계도 함께 기록
+* */
+public class StatementCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        StatementTracker tracker = StatementTracker.current();
+        if (tracker != null) {
+            tracker.record(sql);
+        }
+        return sql;
+    }
+
+    public static long currentCount() {
+        return COUNT.get()[0];
+    }
+}
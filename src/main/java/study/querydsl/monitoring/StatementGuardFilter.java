@@ -0,0 +1,100 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/*
+* 요청 단위 N+1 감지
+* 한 요청에서 같은 형태의 SQL이 max-repeated 회를 초과하면
+* - log: 경고 로그 + member.statement-guard.violations 카운터 증가
+* - fail: 추가로 NPlusOneDetectedException 발생 (개발 / 테스트 환경용)
+*   응답을 커밋하기 전에 실패시키기 위해 응답 본문 전체를 메모리에 버퍼링했다가 검사 후 내보냄
+*   (스트리밍 응답도 끝까지 버퍼링되므로 운영 환경에서는 log 사용)
+* */
+@Slf4j
+@Component
+public class StatementGuardFilter extends OncePerRequestFilter {
+
+    public enum Mode {
+        LOG, FAIL
+    }
+
+    private final boolean enabled;
+    private final int maxRepeated;
+    private final Mode mode;
+    private final MeterRegistry registry;
+
+    public StatementGuardFilter(@Value("${member.statement-guard.enabled:true}") boolean enabled,
+                                @Value("${member.statement-guard.max-repeated:10}") int maxRepeated,
+                                @Value("${member.statement-guard.mode:log}") Mode mode,
+                                MeterRegistry registry) {
+        this.enabled = enabled;
+        this.maxRepeated = maxRepeated;
+        this.mode = mode;
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    // fail 모드는 비동기 처리가 끝난 뒤 버퍼링한 응답을 내보내야 하므로 async dispatch에서도 실행
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return mode != Mode.FAIL;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            filterChain.doFilter(request, response);
+            copyBufferedBody(request, response);
+            return;
+        }
+
+        HttpServletResponse target = mode == Mode.FAIL ? new ContentCachingResponseWrapper(response) : response;
+        StatementTracker tracker = StatementTracker.start();
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            tracker.stop();
+        }
+
+        Map<String, Integer> repeated = tracker.repeatedShapes(maxRepeated);
+        if (!repeated.isEmpty()) {
+            String scope = request.getMethod() + " " + request.getRequestURI();
+            registry.counter("member.statement-guard.violations").increment();
+            log.warn("N+1 의심: {} (총 SQL {}건) {}", scope, tracker.getTotalCount(), repeated);
+            if (mode == Mode.FAIL) {
+                // 버퍼링한 본문은 버리고 오류 응답으로 처리 (아직 커밋되지 않음)
+                target.resetBuffer();
+                throw new NPlusOneDetectedException(scope, maxRepeated, repeated);
+            }
+        }
+        copyBufferedBody(request, target);
+    }
+
+    private void copyBufferedBody(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        ContentCachingResponseWrapper buffered = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (buffered != null) {
+            buffered.copyBodyToResponse();
+        }
+    }
+}
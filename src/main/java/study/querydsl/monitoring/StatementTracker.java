@@ -0,0 +1,96 @@
+package study.querydsl.monitoring;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/*
+* 한 범위(웹 요청, 테스트 메서드) 안에서 실행된 SQL을 형태(shape)별로 집계
+* 같은 형태의 SQL이 반복되면 N+1 의심 (지연 로딩된 Member.team, Team.members 등)
+* 현재 스레드에 바인딩되고, StatementCountInspector가 SQL마다 record 호출
+* */
+public class StatementTracker {
+
+    private static final ThreadLocal<StatementTracker> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final StatementTracker previous;
+    private final Map<String, Integer> shapeCounts = new LinkedHashMap<>();
+    private int totalCount;
+
+    private StatementTracker(StatementTracker previous) {
+        this.previous = previous;
+    }
+
+    public static StatementTracker start() {
+        StatementTracker tracker = new StatementTracker(CURRENT.get());
+        CURRENT.set(tracker);
+        return tracker;
+    }
+
+    public static StatementTracker current() {
+        return CURRENT.get();
+    }
+
+    public void stop() {
+        if (CURRENT.get() != this) {
+            return;
+        }
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    void record(String sql) {
+        totalCount++;
+        shapeCounts.merge(shapeOf(sql), 1, Integer::sum);
+        if (previous != null) {
+            previous.record(sql);
+        }
+    }
+
+    public void reset() {
+        totalCount = 0;
+        shapeCounts.clear();
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public Map<String, Integer> getShapeCounts() {
+        return Collections.unmodifiableMap(shapeCounts);
+    }
+
+    /*
+    * maxRepeated 횟수를 초과해서 실행된 SQL 형태
+    * */
+    public Map<String, Integer> repeatedShapes(int maxRepeated) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapeCounts.forEach((shape, count) -> {
+            if (count > maxRepeated) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    /*
+    * 주석 제거, 리터럴을 ?로 치환, IN 목록 크기 무시, 공백 정리
+    * */
+    static String shapeOf(String sql) {
+        String shape = COMMENT.matcher(sql).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase();
+    }
+}
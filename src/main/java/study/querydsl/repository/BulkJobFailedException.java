@@ -0,0 +1,18 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+
+/*
+* 분할 벌크 작업 중 일부 구간 실패
+* 완료된 구간은 커밋되어 있으므로 같은 jobName으로 다시 실행하면 남은 구간부터 재시작
+* */
+@Getter
+public class BulkJobFailedException extends RuntimeException {
+
+    private final BulkJobResult result;
+
+    public BulkJobFailedException(BulkJobResult result, Throwable cause) {
+        super("벌크 작업 실패: " + result, cause);
+        this.result = result;
+    }
+}
@@ -0,0 +1,24 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/*
+* 분할 벌크 작업 결과
+* skippedRanges: 이전 실행에서 완료되어 건너뛴 구간 수
+* */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class BulkJobResult {
+
+    private final String jobName;
+    private final int totalRanges;
+    private final int skippedRanges;
+    private final int completedRanges;
+    private final long affectedRows;
+    private final Duration elapsed;
+}
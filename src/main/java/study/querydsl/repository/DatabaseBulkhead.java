@@ -0,0 +1,49 @@
+package study.querydsl.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+* DB 동시 실행 수 제한
+* 허용 수는 기본적으로 커넥션 풀 크기와 같게 두어서, 대기는 커넥션 풀이 아니라 여기서 발생하도록 함
+* acquire-timeout 동안 허가를 얻지 못하면 DatabaseBusyException (503)
+* */
+@Component
+public class DatabaseBulkhead {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public DatabaseBulkhead(@Value("${member.search.async.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+                            @Value("${member.search.async.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    public <T> T call(Supplier<T> action) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("DB 실행 대기 중 인터럽트되었습니다.");
+        }
+        if (!acquired) {
+            throw new DatabaseBusyException("DB 동시 실행 한도를 초과했습니다.");
+        }
+        try {
+            return action.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
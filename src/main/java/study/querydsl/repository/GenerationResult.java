@@ -0,0 +1,26 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/*
+* 테스트 데이터 생성 결과
+* */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class GenerationResult {
+
+    private final int teams;
+    private final long members;
+    private final long firstMemberId;
+    private final Duration elapsed;
+
+    public long getRowsPerSecond() {
+        long millis = Math.max(1, elapsed.toMillis());
+        return (teams + members) * 1000 / millis;
+    }
+}
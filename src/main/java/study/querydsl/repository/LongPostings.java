@@ -0,0 +1,57 @@
+package study.querydsl.repository;
+
+import java.util.Arrays;
+
+/*
+* 정렬된 long 목록 (n-gram 색인의 포스팅 리스트)
+* 새 회원 id는 대부분 기존 id보다 크므로 끝에 추가되고, 중간 삽입 / 삭제만 배열 이동 발생
+* 동기화하지 않으므로 MemberUsernameIndex의 잠금 안에서만 사용
+* */
+class LongPostings {
+
+    private long[] values = new long[4];
+    private int size;
+
+    void add(long value) {
+        if (size == 0 || values[size - 1] < value) {
+            grow();
+            values[size++] = value;
+            return;
+        }
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        grow();
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+    }
+
+    void remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+    }
+
+    boolean contains(long value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    long get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+    }
+}
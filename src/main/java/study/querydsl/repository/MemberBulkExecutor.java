@@ -0,0 +1,264 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import study.querydsl.config.ReplicaHealthMonitor;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.entity.BulkJobRange;
+import study.querydsl.repository.MemberChangedEvent.ChangeType;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import static study.querydsl.entity.QBulkJobRange.bulkJobRange;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/*
+* 분할 벌크 작업
+* 한 문장 / 한 트랜잭션으로 수백만 건을 수정하면 락 경합과 복제 지연이 커지므로
+* member_id를 range-size 단위 구간으로 나누어 구간마다 별도 트랜잭션으로 실행
+* - workers 개의 스레드에서 병렬 실행, 구간마다 pause 만큼 쉬고 복제 지연 시(ReplicaHealthMonitor) 대기
+* - 구간 실행과 체크포인트(BulkJobRange) 저장을 같은 트랜잭션에서 커밋 → 같은 jobName으로 재실행하면 완료된 구간은 건너뜀
+* - 구간 경계는 range-size의 배수로 고정해서 재시작 시에도 같은 구간이 나오도록 함
+* */
+@Slf4j
+@Component
+public class MemberBulkExecutor {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate rangeTx;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<ReplicaHealthMonitor> replicaHealthMonitor;
+    private final MeterRegistry meterRegistry;
+    private final long rangeSize;
+    private final int workers;
+    private final Duration pause;
+    private final Duration maxReplicaWait;
+
+    public MemberBulkExecutor(EntityManager em,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              ObjectProvider<ReplicaHealthMonitor> replicaHealthMonitor,
+                              MeterRegistry meterRegistry,
+                              @Value("${member.bulk.range-size:10000}") long rangeSize,
+                              @Value("${member.bulk.workers:4}") int workers,
+                              @Value("${member.bulk.pause:0ms}") Duration pause,
+                              @Value("${member.bulk.max-replica-wait:5m}") Duration maxReplicaWait) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.rangeTx = new TransactionTemplate(transactionManager);
+        this.rangeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.replicaHealthMonitor = replicaHealthMonitor;
+        this.meterRegistry = meterRegistry;
+        this.rangeSize = rangeSize;
+        this.workers = workers;
+        this.pause = pause;
+        this.maxReplicaWait = maxReplicaWait;
+    }
+
+    /*
+    * 예) update("age-plus-1", cond, update -> update.set(member.age, member.age.add(1)))
+    * */
+    public BulkJobResult update(String jobName, MemberSearchCond condition, Consumer<JPAUpdateClause> changes) {
+        return run(jobName, ChangeType.BULK_UPDATE, range -> {
+            JPAUpdateClause update = queryFactory.update(member);
+            changes.accept(update);
+            return update.where(range, bulkCondition(condition)).execute();
+        });
+    }
+
+    public BulkJobResult delete(String jobName, MemberSearchCond condition) {
+        return run(jobName, ChangeType.BULK_DELETE, range -> queryFactory
+                .delete(member)
+                .where(range, bulkCondition(condition))
+                .execute());
+    }
+
+    /*
+    * 체크포인트 삭제 (같은 jobName으로 처음부터 다시 실행할 때)
+    * */
+    @Transactional
+    public long reset(String jobName) {
+        return queryFactory
+                .delete(bulkJobRange)
+                .where(bulkJobRange.jobName.eq(jobName))
+                .execute();
+    }
+
+    private BulkJobResult run(String jobName, ChangeType type, ToLongFunction<BooleanExpression> operation) {
+        long start = System.nanoTime();
+
+        Tuple bounds = queryFactory
+                .select(member.id.min(), member.id.max())
+                .from(member)
+                .fetchOne();
+        Long minId = bounds == null ? null : bounds.get(member.id.min());
+        Long maxId = bounds == null ? null : bounds.get(member.id.max());
+        if (minId == null || maxId == null) {
+            return new BulkJobResult(jobName, 0, 0, 0, 0, Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        Set<Long> completed = new HashSet<>(queryFactory
+                .select(bulkJobRange.rangeStart)
+                .from(bulkJobRange)
+                .where(bulkJobRange.jobName.eq(jobName))
+                .fetch());
+
+        List<Long> pending = new ArrayList<>();
+        int totalRanges = 0;
+        for (long from = Math.floorDiv(minId, rangeSize) * rangeSize; from <= maxId; from += rangeSize) {
+            totalRanges++;
+            if (!completed.contains(from)) {
+                pending.add(from);
+            }
+        }
+        int skippedRanges = totalRanges - pending.size();
+        log.info("벌크 작업 시작: {} (구간 {}개, 완료된 구간 {}개 건너뜀, workers = {})",
+                jobName, totalRanges, skippedRanges, workers);
+
+        Counter rowCounter = Counter.builder("member.bulk.rows")
+                .tag("type", type.name())
+                .register(meterRegistry);
+        AtomicInteger doneRanges = new AtomicInteger();
+        AtomicLong affectedRows = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("member-bulk-");
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.initialize();
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(pending.size());
+            for (Long from : pending) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    if (failure.get() != null) {
+                        return;
+                    }
+                    try {
+                        waitForReplica();
+                        long rows = runRange(jobName, from, operation);
+                        rowCounter.increment(rows);
+                        long totalRows = affectedRows.addAndGet(rows);
+                        reportProgress(jobName, doneRanges.incrementAndGet(), pending.size(), totalRows, start);
+                        pause();
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        BulkJobResult result = new BulkJobResult(jobName, totalRanges, skippedRanges, doneRanges.get(),
+                affectedRows.get(), Duration.ofNanos(System.nanoTime() - start));
+        if (result.getAffectedRows() > 0) {
+            // 대상 id를 모으지 않으므로 memberIds는 비워서 발행 (전체 무효화)
+            // 구간 트랜잭션 밖에서 발행하므로 파생 데이터(팀 통계 롤업 등)는 작업이 끝난 뒤에 맞춰짐
+            eventPublisher.publishEvent(new MemberChangedEvent(type, Collections.emptyList()));
+        }
+        if (failure.get() != null) {
+            throw new BulkJobFailedException(result, failure.get());
+        }
+        log.info("벌크 작업 완료: {}", result);
+        return result;
+    }
+
+    private long runRange(String jobName, long from, ToLongFunction<BooleanExpression> operation) {
+        long to = from + rangeSize;
+        Long rows = rangeTx.execute(status -> {
+            long affected = operation.applyAsLong(member.id.goe(from).and(member.id.lt(to)));
+            em.persist(new BulkJobRange(jobName, from, to, affected));
+            return affected;
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    private void reportProgress(String jobName, int done, int total, long rows, long start) {
+        // 10% 단위로 출력
+        if (done == total || done * 10 / total != (done - 1) * 10 / total) {
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            log.info("벌크 작업 진행: {} {}/{} 구간, {} rows ({} rows/s)",
+                    jobName, done, total, rows, seconds > 0 ? (long) (rows / seconds) : rows);
+        }
+    }
+
+    private void waitForReplica() throws InterruptedException {
+        ReplicaHealthMonitor monitor = replicaHealthMonitor.getIfAvailable();
+        if (monitor == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + maxReplicaWait.toNanos();
+        while (!monitor.isAvailable()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("복제 지연이 " + maxReplicaWait + " 동안 해소되지 않았습니다.");
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    private void pause() throws InterruptedException {
+        if (!pause.isZero()) {
+            Thread.sleep(pause.toMillis());
+        }
+    }
+
+    /*
+    * 벌크 JPQL은 조인을 쓸 수 없으므로 팀 조건은 서브쿼리로 변환
+    * */
+    private BooleanExpression bulkCondition(MemberSearchCond condition) {
+        BooleanExpression expression = null;
+        if (StringUtils.hasText(condition.getUsername())) {
+            expression = and(expression, member.username.eq(condition.getUsername()));
+        }
+        if (StringUtils.hasText(condition.getTeamName())) {
+            expression = and(expression, member.team.id.in(JPAExpressions
+                    .select(team.id)
+                    .from(team)
+                    .where(team.name.eq(condition.getTeamName()))));
+        }
+        if (condition.getAgeGoe() != null) {
+            expression = and(expression, member.age.goe(condition.getAgeGoe()));
+        }
+        if (condition.getAgeLoe() != null) {
+            expression = and(expression, member.age.loe(condition.getAgeLoe()));
+        }
+        return expression;
+    }
+
+    private BooleanExpression and(BooleanExpression left, BooleanExpression right) {
+        return left == null ? right : left.and(right);
+    }
+}
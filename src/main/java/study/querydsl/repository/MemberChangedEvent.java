@@ -0,0 +1,38 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/*
+* 회원 데이터 변경 이벤트
+* MemberJpaRepository의 저장 / 벌크 연산 시 발행되고, 캐시 / 집계 등 파생 데이터의 갱신에 사용
+* */
+@Getter
+@ToString
+public class MemberChangedEvent {
+
+    public enum ChangeType {
+        SAVE, BULK_UPDATE, BULK_DELETE
+    }
+
+    private final ChangeType type;
+    // 비어 있으면 대상 회원을 특정하지 않은 변경 (MemberBulkExecutor)
+    private final List<Long> memberIds;
+    // 벌크 연산 대상 회원의 소속 팀 (삭제 후에는 회원으로 팀을 조회할 수 없으므로 연산 전에 수집)
+    // 팀별 나이 집계와 무관한 변경(username 변경)은 비어 있음
+    private final Set<Long> teamIds;
+
+    public MemberChangedEvent(ChangeType type, List<Long> memberIds) {
+        this(type, memberIds, Collections.emptySet());
+    }
+
+    public MemberChangedEvent(ChangeType type, List<Long> memberIds, Set<Long> teamIds) {
+        this.type = type;
+        this.memberIds = memberIds;
+        this.teamIds = teamIds;
+    }
+}
@@ -0,0 +1,214 @@
+package study.querydsl.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import study.querydsl.repository.MemberChangedEvent.ChangeType;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+* 대용량 테스트 데이터 생성 (로컬 / 벤치마크 / 테스트용)
+* - JDBC 배치 INSERT, member_id 구간(batch-size)마다 별도 커넥션 / 커밋으로 workers 개 스레드에서 병렬 적재
+* - 팀: team1 ~ teamN, 크기는 Zipf 분포(team-skew)로 앞 번호 팀에 회원이 몰림, no-team-ratio 비율은 팀 없음
+* - 나이: 평균 35, 표준편차 12 정규분포 (15 ~ 80)
+* - username: 성씨 목록에서 Zipf 분포로 고른 접두어 + member_id (예: kim1234)
+* 난수는 구간 시작 id로 시드를 정하므로 스레드 실행 순서와 상관없이 같은 데이터가 생성됨
+* id는 Hibernate 시퀀스 블록과 겹치지 않도록 시퀀스에서 예약한 값 이후로 할당하고, 적재 후 시퀀스를 마지막 id 이후로 재설정 (H2 문법)
+* */
+@Slf4j
+@Component
+public class MemberDataGenerator {
+
+    private static final String[] USERNAME_PREFIXES = {
+            "kim", "lee", "park", "choi", "jung", "kang", "cho", "yoon", "jang", "lim",
+            "han", "oh", "seo", "shin", "kwon", "hwang", "ahn", "song", "jeon", "hong"
+    };
+    private static final double USERNAME_SKEW = 1.0;
+    private static final double[] USERNAME_WEIGHTS = zipf(USERNAME_PREFIXES.length, USERNAME_SKEW);
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory emf;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int workers;
+    private final int batchSize;
+    private final double teamSkew;
+    private final double noTeamRatio;
+    private final long randomSeed;
+    private final int allocationSize;
+
+    public MemberDataGenerator(DataSource dataSource,
+                               EntityManagerFactory emf,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${member.seed.workers:4}") int workers,
+                               @Value("${member.seed.batch-size:5000}") int batchSize,
+                               @Value("${member.seed.team-skew:1.0}") double teamSkew,
+                               @Value("${member.seed.no-team-ratio:0.01}") double noTeamRatio,
+                               @Value("${member.seed.random-seed:42}") long randomSeed,
+                               @Value("${spring.jpa.properties.querydsl.id.allocation_size:50}") int allocationSize) {
+        this.dataSource = dataSource;
+        this.emf = emf;
+        this.eventPublisher = eventPublisher;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.teamSkew = teamSkew;
+        this.noTeamRatio = noTeamRatio;
+        this.randomSeed = randomSeed;
+        this.allocationSize = allocationSize;
+    }
+
+    public GenerationResult generate(int teamCount, long memberCount) {
+        long start = System.nanoTime();
+        try {
+            long firstTeamId = reserveIds("team", "team_id", "team_seq", teamCount);
+            insertTeams(firstTeamId, teamCount);
+
+            long firstMemberId = reserveIds("member", "member_id", "member_seq", memberCount);
+            insertMembers(firstMemberId, memberCount, firstTeamId, teamCount);
+
+            // JDBC로 직접 적재했으므로 2차 캐시 / 검색 결과 캐시 무효화
+            emf.getCache().evictAll();
+            eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.SAVE, Collections.emptyList()));
+
+            GenerationResult result = new GenerationResult(teamCount, memberCount, firstMemberId,
+                    Duration.ofNanos(System.nanoTime() - start));
+            log.info("테스트 데이터 생성: teams = {}, members = {}, {}ms ({} rows/s)",
+                    teamCount, memberCount, result.getElapsed().toMillis(), result.getRowsPerSecond());
+            return result;
+        } catch (SQLException e) {
+            throw new IllegalStateException("테스트 데이터 생성 실패", e);
+        }
+    }
+
+    /*
+    * 같은 시드로 생성한 회원의 username (벤치마크 / 테스트에서 존재하는 username 조회용)
+    * */
+    public String usernameOf(long memberId) {
+        return USERNAME_PREFIXES[sample(USERNAME_WEIGHTS, new Random(randomSeed ^ memberId).nextDouble())] + memberId;
+    }
+
+    /*
+    * 시퀀스에서 다음 값을 하나 받아 Hibernate가 아직 쓰지 않은 블록을 확보하고, 그 이후 id를 count 개 사용한 뒤
+    * 시퀀스를 마지막 id + allocation size 이후로 재설정 (pooled 최적화는 (value - increment, value] 구간을 사용)
+    * */
+    private long reserveIds(String table, String idColumn, String sequence, long count) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            long next = queryLong(statement, "SELECT NEXT VALUE FOR " + sequence);
+            long maxId = queryLong(statement, "SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table);
+            long firstId = Math.max(next, maxId) + 1;
+            statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (firstId + count + allocationSize));
+            return firstId;
+        }
+    }
+
+    private long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private void insertTeams(long firstTeamId, int teamCount) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("INSERT INTO team (team_id, name) VALUES (?, ?)")) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < teamCount; i++) {
+                ps.setLong(1, firstTeamId + i);
+                ps.setString(2, "team" + (i + 1));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private void insertMembers(long firstMemberId, long memberCount, long firstTeamId, int teamCount) throws SQLException {
+        double[] teamWeights = zipf(teamCount, teamSkew);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long from = firstMemberId; from < firstMemberId + memberCount; from += batchSize) {
+                long chunkStart = from;
+                long chunkEnd = Math.min(from + batchSize, firstMemberId + memberCount);
+                futures.add(executor.submit(() -> {
+                    insertMemberChunk(chunkStart, chunkEnd, firstTeamId, teamWeights);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("테스트 데이터 생성 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new IllegalStateException("테스트 데이터 생성 실패", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void insertMemberChunk(long chunkStart, long chunkEnd, long firstTeamId, double[] teamWeights) throws SQLException {
+        Random random = new Random(randomSeed + chunkStart);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "INSERT INTO member (member_id, username, age, team_id) VALUES (?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            for (long memberId = chunkStart; memberId < chunkEnd; memberId++) {
+                ps.setLong(1, memberId);
+                ps.setString(2, usernameOf(memberId));
+                ps.setInt(3, (int) Math.max(15, Math.min(80, Math.round(35 + random.nextGaussian() * 12))));
+                if (random.nextDouble() < noTeamRatio) {
+                    ps.setNull(4, Types.BIGINT);
+                } else {
+                    ps.setLong(4, firstTeamId + sample(teamWeights, random.nextDouble()));
+                }
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    // Zipf 분포 누적 확률 (k번째 값의 가중치 1 / k^skew)
+    private static double[] zipf(int size, double skew) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1 / Math.pow(k + 1, skew);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, double u) {
+        int index = Arrays.binarySearch(cumulative, u);
+        index = index >= 0 ? index : -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+}
@@ -1,31 +1,190 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.hibernate.HibernateQuery;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.FlushMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberCursor;
+import study.querydsl.dto.MemberCursorResult;
 import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSort;
+import study.querydsl.dto.MemberTeamAgeDto;
+import study.querydsl.dto.MemberTeamColumns;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamAgeDto;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.UsernameMatch;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberChangedEvent.ChangeType;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+import static org.hibernate.annotations.QueryHints.CACHEABLE;
+import static org.hibernate.annotations.QueryHints.CACHE_REGION;
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
 
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.entity.QTeamStats.teamStats;
 
+/*
+* 조회는 읽기 전용 트랜잭션 (읽기 복제본 설정 시 복제본으로 라우팅, RoutingDataSourceConfig 참고)
+* 저장 / 수정은 @Transactional로 primary 사용
+* */
 @Repository
+@Transactional(readOnly = true)
 public class MemberJpaRepository {
 
+    // findByUsername 쿼리 캐시 영역 (application.yml의 member.second-level-cache.regions 참고)
+    private static final String USERNAME_QUERY_CACHE_REGION = "member-by-username";
+    private static final String TEAM_MEMBERS_ROLE = Team.class.getName() + ".members";
+    private static final String BULK_QUERY_SPACE = "member_bulk";
+
+    // 쿼리 템플릿 파라미터와 조건 조합(shape) 비트
+    private static final Param<String> USERNAME = new Param<>(String.class, "username");
+    private static final Param<String> TEAM_NAME = new Param<>(String.class, "teamName");
+    private static final Param<Integer> AGE_GOE = new Param<>(Integer.class, "ageGoe");
+    private static final Param<Integer> AGE_LOE = new Param<>(Integer.class, "ageLoe");
+    private static final int USERNAME_BIT = 1;
+    private static final int TEAM_NAME_BIT = 1 << 1;
+    private static final int AGE_GOE_BIT = 1 << 2;
+    private static final int AGE_LOE_BIT = 1 << 3;
+    private static final int SORT_SHIFT = 4; // 정렬은 (MemberSort.ordinal() + 1) << SORT_SHIFT
+
+    // 허용된 정렬만 미리 만든 OrderSpecifier로 매핑, 마지막은 항상 member.id (페이징 순서 고정)
+    private static final Map<MemberSort, OrderSpecifier<?>[]> SORTS = new EnumMap<>(MemberSort.class);
+
+    static {
+        SORTS.put(MemberSort.ID_ASC, new OrderSpecifier<?>[]{member.id.asc()});
+        SORTS.put(MemberSort.ID_DESC, new OrderSpecifier<?>[]{member.id.desc()});
+        SORTS.put(MemberSort.USERNAME_ASC, new OrderSpecifier<?>[]{member.username.asc().nullsLast(), member.id.asc()});
+        SORTS.put(MemberSort.USERNAME_DESC, new OrderSpecifier<?>[]{member.username.desc().nullsLast(), member.id.desc()});
+        SORTS.put(MemberSort.AGE_ASC, new OrderSpecifier<?>[]{member.age.asc(), member.id.asc()});
+        SORTS.put(MemberSort.AGE_DESC, new OrderSpecifier<?>[]{member.age.desc(), member.id.desc()});
+    }
+
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberSearchCache searchCache;
+    private final MemberUsernameIndex usernameIndex;
+    private final MemberSnapshotSearch snapshotSearch;
+    private final TeamStatsRepository teamStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DatabaseBulkhead bulkhead;
+    private final Executor searchExecutor;
+    private final TransactionTemplate readOnlyTx;
+    private final QueryTemplate<Member> usernameTemplate;
+    private final QueryTemplate<MemberTeamDto> searchTemplate;
+    private final int streamFetchSize;
+    private final int chunkSize;
 
-    public MemberJpaRepository(EntityManager em) {
+    public MemberJpaRepository(EntityManager em,
+                               MemberSearchCache searchCache,
+                               MemberUsernameIndex usernameIndex,
+                               MemberSnapshotSearch snapshotSearch,
+                               TeamStatsRepository teamStatsRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               DatabaseBulkhead bulkhead,
+                               @Qualifier("memberSearchExecutor") Executor searchExecutor,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${member.stream.fetch-size:1000}") int streamFetchSize,
+                               @Value("${member.batch.chunk-size:1000}") int chunkSize) {
         this.em = em;
         this.queryFactory = new JPAQueryFactory(em);
+        this.searchCache = searchCache;
+        this.usernameIndex = usernameIndex;
+        this.snapshotSearch = snapshotSearch;
+        this.teamStatsRepository = teamStatsRepository;
+        this.eventPublisher = eventPublisher;
+        this.bulkhead = bulkhead;
+        this.searchExecutor = searchExecutor;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.usernameTemplate = new QueryTemplate<>("findByUsernameQuerydsl", em, meterRegistry, shape ->
+                new JPAQuery<Void>()
+                        .select(member)
+                        .from(member)
+                        .where(member.username.eq(USERNAME)));
+        this.searchTemplate = new QueryTemplate<>("searchWhereParam", em, meterRegistry, shape -> {
+            JPAQuery<MemberTeamDto> query = new JPAQuery<Void>()
+                    .select(new QMemberTeamDto(
+                            member.id,
+                            member.username,
+                            member.age,
+                            team.id,
+                            team.name
+                    ))
+                    .from(member);
+            // 팀 이름 조건이 있으면 팀 없는 회원은 어차피 제외되므로 내부 조인 (DB가 team부터 읽는 실행 계획을 선택할 수 있음)
+            if ((shape & TEAM_NAME_BIT) != 0) {
+                query.join(member.team, team);
+            } else {
+                query.leftJoin(member.team, team);
+            }
+            query.where(
+                    (shape & USERNAME_BIT) != 0 ? member.username.eq(USERNAME) : null,
+                    (shape & TEAM_NAME_BIT) != 0 ? team.name.eq(TEAM_NAME) : null,
+                    (shape & AGE_GOE_BIT) != 0 ? member.age.goe(AGE_GOE) : null,
+                    (shape & AGE_LOE_BIT) != 0 ? member.age.loe(AGE_LOE) : null
+            );
+            int sort = shape >>> SORT_SHIFT;
+            if (sort > 0) {
+                query.orderBy(SORTS.get(MemberSort.values()[sort - 1]));
+            }
+            return query;
+        });
+        this.streamFetchSize = streamFetchSize;
+        this.chunkSize = chunkSize;
     }
 
     // Main Application에 @Bean 등록시 사용
@@ -38,8 +197,207 @@ public class MemberJpaRepository {
     /*
     * 순수 JPA
     * */
+    @Transactional
     public void save(Member member) {
         em.persist(member);
+        eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.SAVE, Collections.singletonList(member.getId())));
+    }
+
+    /*
+    * 대량 저장
+    * chunk 단위로 flush (hibernate.jdbc.batch_size 단위 JDBC 배치 INSERT) 후 clear 해서 영속성 컨텍스트 크기를 일정하게 유지
+    * 저장이 끝나면 전달한 엔티티를 포함해 영속성 컨텍스트가 비워지므로 이후에는 준영속 상태로 취급해야 함
+    * */
+    @Transactional
+    public void saveAll(Collection<Member> members) {
+        List<Long> memberIds = new ArrayList<>(members.size());
+        int count = 0;
+        for (Member member : members) {
+            em.persist(member);
+            memberIds.add(member.getId());
+            if (++count % chunkSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        // 빈 대상 목록은 전체 변경으로 취급되므로 저장한 회원이 없으면 발행하지 않음
+        if (!memberIds.isEmpty()) {
+            eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.SAVE, memberIds));
+        }
+    }
+
+    /*
+    * 벌크 연산
+    * 조건에 맞는 id를 member_id 순서로 chunk-size 단위로 조회하고, 조회한 chunk마다 id IN으로 UPDATE / DELETE, 영향받은 행 수 반환
+    * em.clear()로 영속성 컨텍스트 전체를 버리지 않고 영향받은 관리 중인 Member만 DB와 맞춤
+    * - 수정: em.refresh()로 다시 조회
+    * - 삭제: detach 하고 초기화된 Team.members 컬렉션에서 제거
+    * 2차 캐시는 영향받은 회원 / 팀 컬렉션 항목만 제거 (커밋 후 한 번 더 제거)
+    * - JPQL 벌크 연산은 Hibernate가 member 영역 전체와 관련 쿼리 캐시를 비우므로 네이티브 SQL로 실행
+    * 변경 이벤트에 영향받은 회원 id 목록을 담으므로 대상이 매우 많으면 MemberBulkExecutor 사용
+    * */
+    @Transactional
+    public long bulkAgePlus(MemberSearchCond condition, int delta) {
+        BulkResult result = forEachTargetChunk(condition, chunk -> bulkUpdate(
+                "update member set age = age + :delta where member_id in (:memberIds)", chunk)
+                .setParameter("delta", delta)
+                .executeUpdate());
+        refreshManagedMembers(result.managed);
+        evictMembers(result.memberIds, Collections.emptySet(), false);
+        eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.BULK_UPDATE, result.memberIds, result.teamIds));
+        return result.count;
+    }
+
+    @Transactional
+    public long bulkRename(MemberSearchCond condition, String username) {
+        BulkResult result = forEachTargetChunk(condition, chunk -> bulkUpdate(
+                "update member set username = :username where member_id in (:memberIds)", chunk)
+                .setParameter("username", username)
+                .executeUpdate());
+        refreshManagedMembers(result.managed);
+        evictMembers(result.memberIds, Collections.emptySet(), true);
+        // 나이 / 소속이 바뀌지 않으므로 팀 통계 재계산 대상 없음
+        eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.BULK_UPDATE, result.memberIds));
+        return result.count;
+    }
+
+    @Transactional
+    public long bulkDelete(MemberSearchCond condition) {
+        BulkResult result = forEachTargetChunk(condition, chunk -> bulkUpdate(
+                "delete from member where member_id in (:memberIds)", chunk)
+                .executeUpdate());
+        detachManagedMembers(result.managed);
+        evictMembers(result.memberIds, result.teamIds, true);
+        eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.BULK_DELETE, result.memberIds, result.teamIds));
+        return result.count;
+    }
+
+    private BulkResult forEachTargetChunk(MemberSearchCond condition, ToIntFunction<List<Long>> action) {
+        // 대상 선정 전에 쓰기 지연된 변경을 반영
+        em.flush();
+        Map<Long, Member> managed = managedMembers();
+
+        BulkResult result = new BulkResult();
+        Long lastId = null;
+        List<Tuple> rows;
+        do {
+            rows = queryFactory
+                    .select(member.id, team.id)
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(
+                            usernameEq(condition.getUsername()),
+                            teamNameEq(condition.getTeamName()),
+                            ageGoe(condition.getAgeGoe()),
+                            ageLoe(condition.getAgeLoe()),
+                            lastId != null ? member.id.gt(lastId) : null
+                    )
+                    .orderBy(member.id.asc())
+                    .limit(chunkSize)
+                    .fetch();
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Long> chunk = new ArrayList<>(rows.size());
+            for (Tuple row : rows) {
+                Long memberId = row.get(member.id);
+                chunk.add(memberId);
+                Long teamId = row.get(team.id);
+                if (teamId != null) {
+                    result.teamIds.add(teamId);
+                }
+                Member instance = managed.get(memberId);
+                if (instance != null) {
+                    result.managed.add(instance);
+                }
+            }
+            result.count += action.applyAsInt(chunk);
+            result.memberIds.addAll(chunk);
+            lastId = chunk.get(chunk.size() - 1);
+        } while (rows.size() == chunkSize);
+        return result;
+    }
+
+    /*
+    * 존재하지 않는 쿼리 공간(BULK_QUERY_SPACE)을 지정해서 Hibernate가 2차 캐시 영역 / 쿼리 캐시를 비우지 않도록 함
+    * (지정하지 않으면 모든 영역을 비움, 캐시 정리는 evictMembers에서 직접 수행)
+    * */
+    private Query bulkUpdate(String sql, List<Long> memberIds) {
+        return em.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(BULK_QUERY_SPACE)
+                .setParameterList("memberIds", memberIds);
+    }
+
+    private static class BulkResult {
+
+        private final List<Long> memberIds = new ArrayList<>();
+        private final Set<Long> teamIds = new HashSet<>();
+        private final List<Member> managed = new ArrayList<>();
+        private long count;
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    /*
+    * 영향받은 회원 / 팀 컬렉션 항목과 (username이 바뀌었으면) username 쿼리 캐시 제거
+    * 커밋 전에 다른 트랜잭션이 이전 값을 다시 캐시할 수 있으므로 트랜잭션 종료 후 한 번 더 제거
+    * */
+    private void evictMembers(List<Long> memberIds, Set<Long> teamIds, boolean usernameQueries) {
+        Runnable evict = () -> {
+            org.hibernate.Cache cache = em.getEntityManagerFactory().getCache().unwrap(org.hibernate.Cache.class);
+            memberIds.forEach(memberId -> cache.evictEntityData(Member.class, memberId));
+            teamIds.forEach(teamId -> cache.evictCollectionData(TEAM_MEMBERS_ROLE, teamId));
+            if (usernameQueries) {
+                cache.evictQueryRegion(USERNAME_QUERY_CACHE_REGION);
+            }
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private void refreshManagedMembers(List<Member> members) {
+        members.forEach(em::refresh);
+    }
+
+    private void detachManagedMembers(List<Member> members) {
+        for (Member deleted : members) {
+            Team memberTeam = deleted.getTeam();
+            if (memberTeam != null && Hibernate.isInitialized(memberTeam)
+                    && Hibernate.isInitialized(memberTeam.getMembers())) {
+                memberTeam.getMembers().remove(deleted);
+            }
+            em.detach(deleted);
+        }
+    }
+
+    // 영속성 컨텍스트가 관리 중인 Member (프록시 제외, 이미 관리 중이므로 em.find는 조회하지 않음)
+    private Map<Long, Member> managedMembers() {
+        Map<Long, Member> managed = new HashMap<>();
+        for (Object key : em.unwrap(Session.class).getStatistics().getEntityKeys()) {
+            EntityKey entityKey = (EntityKey) key;
+            if (Member.class.getName().equals(entityKey.getEntityName())) {
+                Long memberId = (Long) entityKey.getIdentifier();
+                managed.put(memberId, em.find(Member.class, memberId));
+            }
+        }
+        return managed;
     }
 
     public Optional<Member> findById(Long id) {
@@ -55,6 +413,8 @@ public class MemberJpaRepository {
     public List<Member> findByUsername(String username) {
         return em.createQuery("SELECT m FROM Member m WHERE m.username = :username ", Member.class)
                 .setParameter("username", username)
+                .setHint(CACHEABLE, true)
+                .setHint(CACHE_REGION, USERNAME_QUERY_CACHE_REGION)
                 .getResultList();
     }
 
@@ -74,15 +434,37 @@ public class MemberJpaRepository {
 
     }
 
+    /*
+    * 자주 호출되는 조회는 QueryTemplate으로 미리 직렬화한 JPQL에 파라미터만 바인딩
+    * */
     public List<Member> findByUsernameQuerydsl(String username) {
-        return queryFactory
-                .selectFrom(member)
-                .where(member.username.eq(username))
+        return usernameTemplate.bind(0)
+                .set(USERNAME, username)
+                .hint(CACHEABLE, true)
+                .hint(CACHE_REGION, USERNAME_QUERY_CACHE_REGION)
                 .fetch();
     }
 
     public List<MemberTeamDto> searchByBuilder(MemberSearchCond condition) {
 
+        BooleanBuilder builder = searchBuilder(condition);
+
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(builder)
+                .fetch();
+    }
+
+    private BooleanBuilder searchBuilder(MemberSearchCond condition) {
+
         BooleanBuilder builder = new BooleanBuilder();
 
         if (StringUtils.hasText(condition.getUsername())) {
@@ -101,23 +483,308 @@ public class MemberJpaRepository {
             builder.and(member.age.loe(condition.getAgeLoe()));
         }
 
+        return builder;
+    }
+
+    /*
+    * 메모리 스냅샷(MemberSnapshotSearch)을 사용할 수 있으면 DB 없이 응답
+    * 그 외 동일 조건의 반복 조회는 MemberSearchCache에서 응답
+    * 캐시 적중 시 커넥션을 잡지 않도록 트랜잭션은 캐시 미스로 DB를 조회할 때만 시작 (진행 중인 트랜잭션이 있으면 참여)
+    * */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<MemberTeamDto> searchWhereParam(MemberSearchCond condition) {
+        return snapshotSearch.search(condition).orElseGet(() ->
+                searchCache.get(condition, cond -> readOnlyTx.execute(status -> fetchWhereParam(cond))));
+    }
+
+    /*
+    * 비동기 조회
+    * 전용 Executor에서 실행하고, 캐시 미스로 DB를 조회할 때만 DatabaseBulkhead로 동시 실행 수 제한
+    * (MemberSearchCache는 캐시의 compute 밖에서 조회하므로 허가 대기 중에도 같은 키의 다른 요청이 막히지 않음)
+    * 호출 스레드의 트랜잭션은 전파되지 않으므로 Executor 스레드에서 읽기 전용 트랜잭션 시작
+    * Executor 대기열이 가득 차면 DatabaseBusyException (503)
+    * */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<List<MemberTeamDto>> searchWhereParamAsync(MemberSearchCond condition) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> snapshotSearch.search(condition).orElseGet(() -> searchCache.get(condition,
+                            cond -> bulkhead.call(() -> readOnlyTx.execute(status -> fetchWhereParam(cond))))),
+                    searchExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new DatabaseBusyException("검색 대기열이 가득 찼습니다.");
+        }
+    }
+
+    private List<MemberTeamDto> fetchWhereParam(MemberSearchCond condition) {
+        return bindSearch(condition).fetch();
+    }
+
+    // 검색 조건을 바인딩한 템플릿 (SearchIndexAdvisor에서 실행 계획 확인에 사용)
+    QueryTemplate<MemberTeamDto>.Binding bindSearch(MemberSearchCond condition) {
+        int shape = 0;
+        if (StringUtils.hasText(condition.getUsername())) {
+            shape |= USERNAME_BIT;
+        }
+        if (StringUtils.hasText(condition.getTeamName())) {
+            shape |= TEAM_NAME_BIT;
+        }
+        if (condition.getAgeGoe() != null) {
+            shape |= AGE_GOE_BIT;
+        }
+        if (condition.getAgeLoe() != null) {
+            shape |= AGE_LOE_BIT;
+        }
+        if (condition.getSort() != null) {
+            shape |= (condition.getSort().ordinal() + 1) << SORT_SHIFT;
+        }
+
+        QueryTemplate<MemberTeamDto>.Binding query = searchTemplate.bind(shape);
+        if ((shape & USERNAME_BIT) != 0) {
+            query.set(USERNAME, condition.getUsername());
+        }
+        if ((shape & TEAM_NAME_BIT) != 0) {
+            query.set(TEAM_NAME, condition.getTeamName());
+        }
+        if ((shape & AGE_GOE_BIT) != 0) {
+            query.set(AGE_GOE, condition.getAgeGoe());
+        }
+        if ((shape & AGE_LOE_BIT) != 0) {
+            query.set(AGE_LOE, condition.getAgeLoe());
+        }
+        return query;
+    }
+
+    /*
+    * 페이징 조회
+    * 컨텐츠 쿼리와 카운트 쿼리를 분리
+    * - 팀 조건이 없으면 카운트 쿼리에서 team 조인 제거
+    * - 첫 페이지 결과가 페이지 크기보다 작거나 마지막 페이지이면 카운트 쿼리 생략 (PageableExecutionUtils)
+    * */
+    public Page<MemberTeamDto> searchPage(MemberSearchCond condition, Pageable pageable) {
+
+        List<MemberTeamDto> content = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .orderBy(orderBy(condition.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        JPAQuery<Long> countQuery = searchCountQuery(condition);
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    private JPAQuery<Long> searchCountQuery(MemberSearchCond condition) {
+        return withSearchCondition(queryFactory.select(member.count()).from(member), condition);
+    }
+
+    /*
+    * 2단계 페이징 조회
+    * 1단계: 조건에 맞는 member.id만 정렬 / 페이징 (인덱스만으로 처리할 수 있는 좁은 쿼리)
+    * 2단계: 해당 페이지의 id만 IN 조건으로 MemberTeamDto 조회 후 1단계 순서대로 정렬
+    * offset이 깊을수록 건너뛰는 행을 넓은 행 대신 id로만 읽으므로 비용이 줄어듦
+    * */
+    public Page<MemberTeamDto> searchPageByIds(MemberSearchCond condition, Pageable pageable) {
+
+        List<Long> memberIds = withSearchCondition(queryFactory.select(member.id).from(member), condition)
+                .orderBy(orderBy(condition.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        List<MemberTeamDto> content = findDtosByIds(memberIds);
+
+        JPAQuery<Long> countQuery = searchCountQuery(condition);
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    /*
+    * id 목록 순서대로 MemberTeamDto 조회 (IN 절은 chunkSize 단위로 나눠서 조회)
+    * */
+    private List<MemberTeamDto> findDtosByIds(List<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, MemberTeamDto> byId = new HashMap<>(memberIds.size() * 2);
+        for (List<Long> chunk : chunks(memberIds)) {
+            List<MemberTeamDto> rows = queryFactory
+                    .select(new QMemberTeamDto(
+                            member.id,
+                            member.username,
+                            member.age,
+                            team.id,
+                            team.name
+                    ))
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(member.id.in(chunk))
+                    .fetch();
+            for (MemberTeamDto row : rows) {
+                byId.put(row.getMemberId(), row);
+            }
+        }
+
+        List<MemberTeamDto> ordered = new ArrayList<>(memberIds.size());
+        for (Long memberId : memberIds) {
+            MemberTeamDto row = byId.get(memberId);
+            // id 조회와 DTO 조회 사이에 삭제된 회원은 제외
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    /*
+    * 검색 조건 적용
+    * team 조건이 있을 때만 조인 (left join이므로 조인 제거해도 결과 행 수는 동일)
+    * */
+    private <T> JPAQuery<T> withSearchCondition(JPAQuery<T> query, MemberSearchCond condition) {
+        if (StringUtils.hasText(condition.getTeamName())) {
+            query.leftJoin(member.team, team);
+        }
+
+        return query.where(
+                usernameEq(condition.getUsername()),
+                teamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())
+        );
+    }
+
+    /*
+    * username 검색
+    * PREFIX / CONTAINS는 MemberUsernameIndex에서 member_id를 찾은 뒤 DTO 조회 (id 오름차순, 최대 limit 건)
+    * 색인이 준비되기 전(애플리케이션 시작 직후, 비활성화)과 3글자 미만 부분 일치는 DB LIKE로 조회 (limit 건을 찾으면 중단)
+    * */
+    public List<MemberTeamDto> searchByUsername(String keyword, UsernameMatch match, int limit) {
+        if (!StringUtils.hasText(keyword)) {
+            return Collections.emptyList();
+        }
+        if (match != UsernameMatch.EXACT && usernameIndex.isReady() && usernameIndex.supports(keyword, match)) {
+            return findDtosByIds(usernameIndex.search(keyword, match, limit));
+        }
+
         return queryFactory
                 .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
+                        member.id,
                         member.username,
                         member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName")
+                        team.id,
+                        team.name
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(builder)
+                .where(usernameMatches(keyword, match))
+                .orderBy(member.id.asc())
+                .limit(limit)
                 .fetch();
     }
 
-    public List<MemberTeamDto> searchWhereParam(MemberSearchCond condition) {
+    private BooleanExpression usernameMatches(String keyword, UsernameMatch match) {
+        switch (match) {
+            case PREFIX:
+                return member.username.startsWithIgnoreCase(keyword);
+            case CONTAINS:
+                return member.username.containsIgnoreCase(keyword);
+            default:
+                return member.username.eq(keyword);
+        }
+    }
+
+    /*
+    * 팀 집계 비교 조회
+    * 상관 서브쿼리(회원마다 같은 팀 회원을 다시 집계) 대신 team_stats 롤업 행과 조인해서 회원 테이블을 한 번만 읽음
+    * 롤업은 이 저장소의 저장 / 벌크 연산과 같은 트랜잭션에서 갱신되므로 커밋된 데이터와 일치 (TeamStatsRepository 참고)
+    * 저장분은 커밋 직전에 누적되므로 조회 전에 현재 트랜잭션에서 모아 둔 저장분을 먼저 반영
+    * 단, MemberBulkExecutor는 구간마다 커밋하고 모든 구간이 끝난 뒤 롤업을 전체 재구성하므로
+    * 작업 중에는 롤업의 max_age가 회원 테이블과 달라서 일부 팀의 최고령 회원이 빠지거나 이전 값 기준으로 조회될 수 있음
+    * 윈도 함수(OVER PARTITION BY)는 JPQL에서 지원하지 않고, H2에서는 네이티브 SQL로도 롤업 조인보다 느려서 사용하지 않음
+    * 팀이 없는 회원은 제외
+    * */
+    public List<MemberTeamDto> findOldestInTeam() {
+        teamStatsRepository.applyPendingSaves();
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .join(member.team, team)
+                .join(teamStats).on(teamStats.teamId.eq(team.id))
+                .where(member.age.eq(teamStats.maxAge))
+                .orderBy(member.id.asc())
+                .fetch();
+    }
+
+    public List<MemberTeamDto> findAboveTeamAverage() {
+        teamStatsRepository.applyPendingSaves();
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .join(member.team, team)
+                .join(teamStats).on(teamStats.teamId.eq(team.id))
+                // age >= sum / count 를 정수 나눗셈 없이 비교
+                .where(member.age.multiply(teamStats.memberCount).goe(teamStats.ageSum))
+                .orderBy(member.id.asc())
+                .fetch();
+    }
 
+    public List<MemberTeamAgeDto> findWithTeamAgeStats() {
+        teamStatsRepository.applyPendingSaves();
         return queryFactory
+                .select(new QMemberTeamAgeDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name,
+                        teamStats.memberCount,
+                        teamStats.ageSum,
+                        teamStats.minAge,
+                        teamStats.maxAge
+                ))
+                .from(member)
+                .join(member.team, team)
+                .join(teamStats).on(teamStats.teamId.eq(team.id))
+                .orderBy(member.id.asc())
+                .fetch();
+    }
+
+    /*
+    * 키셋(seek) 페이징 조회
+    * offset 대신 마지막으로 조회한 키 이후부터 size + 1건을 조회해서 다음 페이지 여부 판단
+    * 페이지 깊이와 상관없이 인덱스 범위 탐색 비용만 발생
+    * */
+    public MemberCursorResult searchByCursor(MemberSearchCond condition, MemberCursor cursor, int size) {
+
+        List<MemberTeamDto> content = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -131,9 +798,199 @@ public class MemberJpaRepository {
                         usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
+                        ageLoe(condition.getAgeLoe()),
+                        cursorAfter(cursor)
                 )
+                .orderBy(cursorOrder(cursor))
+                .limit(size + 1)
                 .fetch();
+
+        if (content.size() <= size) {
+            return new MemberCursorResult(content, null);
+        }
+
+        List<MemberTeamDto> page = new ArrayList<>(content.subList(0, size));
+        MemberTeamDto last = page.get(size - 1);
+        return new MemberCursorResult(page, cursor.next(last).encode());
+    }
+
+    private BooleanExpression cursorAfter(MemberCursor cursor) {
+        if (cursor.isFirst()) {
+            return null;
+        }
+        if (!cursor.isUsernameOrder()) {
+            return member.id.gt(cursor.getLastMemberId());
+        }
+        // username 정렬은 null username 회원을 마지막에 둠 (nulls last)
+        if (cursor.getLastUsername() == null) {
+            return member.username.isNull().and(member.id.gt(cursor.getLastMemberId()));
+        }
+        return member.username.gt(cursor.getLastUsername())
+                .or(member.username.eq(cursor.getLastUsername()).and(member.id.gt(cursor.getLastMemberId())))
+                .or(member.username.isNull());
+    }
+
+    private OrderSpecifier<?>[] cursorOrder(MemberCursor cursor) {
+        if (cursor.isUsernameOrder()) {
+            return new OrderSpecifier<?>[]{member.username.asc().nullsLast(), member.id.asc()};
+        }
+        return new OrderSpecifier<?>[]{member.id.asc()};
+    }
+
+    /*
+    * 스트리밍 조회
+    * 결과를 List로 모으지 않고 JDBC 커서(Hibernate scroll)로 fetch-size 단위로 읽음
+    * - 커서가 열려 있는 동안 커넥션을 사용하므로 트랜잭션 안에서 호출하고, 사용 후 반드시 close (try-with-resources)
+    * - 엔티티 스트림은 호출한 트랜잭션의 커넥션으로 연 StatelessSession에서 읽으므로 영속성 컨텍스트가 커지지 않고,
+    *   호출하는 쪽에서 이미 관리 중인 엔티티에도 영향을 주지 않음 (반환되는 엔티티는 준영속 상태, 지연 로딩 불가)
+    * */
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Member> streamAll() {
+        StatelessSession session = openStreamSession();
+        return session.createQuery("SELECT m FROM Member m ", Member.class)
+                .setFetchSize(streamFetchSize)
+                .setReadOnly(true)
+                .stream()
+                .onClose(session::close);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Member> streamAllQuerydsl() {
+        StatelessSession session = openStreamSession();
+        return new HibernateQuery<Member>(session)
+                .select(member)
+                .from(member)
+                .setFetchSize(streamFetchSize)
+                .setReadOnly(true)
+                .stream()
+                .onClose(session::close);
+    }
+
+    // 호출한 트랜잭션의 커넥션을 공유 (커넥션은 트랜잭션이 닫음)
+    private StatelessSession openStreamSession() {
+        Session session = flushedSession();
+        Connection connection = session.doReturningWork(c -> c);
+        return session.getSessionFactory().openStatelessSession(connection);
+    }
+
+    // 영속성 컨텍스트를 거치지 않는 조회 전에 쓰기 트랜잭션의 변경 내용을 flush (JPQL 조회의 자동 flush와 같은 효과)
+    private Session flushedSession() {
+        Session session = em.unwrap(Session.class);
+        if (session.getHibernateFlushMode() == FlushMode.AUTO) {
+            session.flush();
+        }
+        return session;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<MemberTeamDto> streamByBuilder(MemberSearchCond condition) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(searchBuilder(condition))
+                .setHint(FETCH_SIZE, streamFetchSize)
+                .stream();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<MemberTeamDto> streamWhereParam(MemberSearchCond condition) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .setHint(FETCH_SIZE, streamFetchSize)
+                .stream();
+    }
+
+    /*
+    * 컬럼 형태 조회 (대량 조회 / 내보내기용)
+    * searchWhereParam과 같은 쿼리 템플릿의 SQL을 JDBC로 직접 실행해서 MemberTeamColumns에 채움
+    * Querydsl Tuple / DTO / 박싱된 id와 나이를 행마다 만들지 않음
+    * */
+    public MemberTeamColumns searchColumns(MemberSearchCond condition) {
+        MemberTeamColumns columns = new MemberTeamColumns(streamFetchSize);
+        readColumns(condition, columns, 0, null);
+        return columns;
+    }
+
+    /*
+    * batchSize 행마다 consumer 호출, 같은 MemberTeamColumns 인스턴스를 비우고 재사용하므로
+    * consumer 밖으로 참조를 넘기면 안 됨 (커서를 사용하므로 트랜잭션 안에서 호출)
+    * */
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public void streamColumns(MemberSearchCond condition, int batchSize, Consumer<MemberTeamColumns> consumer) {
+        MemberTeamColumns columns = new MemberTeamColumns(Math.min(batchSize, streamFetchSize));
+        readColumns(condition, columns, batchSize, consumer);
+    }
+
+    /*
+    * consumer가 null이면 모든 행을 columns에 누적
+    * SQL은 Hibernate의 StatementPreparer로 준비 → 다른 쿼리와 같이 StatementInspector(SQL 수 메트릭 / N+1 감시)와 SQL 로그를 거침
+    * */
+    private void readColumns(MemberSearchCond condition, MemberTeamColumns columns, int batchSize,
+                             Consumer<MemberTeamColumns> consumer) {
+        // 조회 컬럼 순서: member.id, username, age, team.id, team.name (QMemberTeamDto 생성자 순서)
+        QueryTemplate.SqlStatement sql = bindSearch(condition).toSql();
+        SessionImplementor session = flushedSession().unwrap(SessionImplementor.class);
+        JdbcCoordinator jdbc = session.getJdbcCoordinator();
+
+        PreparedStatement statement = jdbc.getStatementPreparer().prepareQueryStatement(sql.getSql(), false, null);
+        try {
+            statement.setFetchSize(streamFetchSize);
+            sql.bind(statement);
+            ResultSet rs = jdbc.getResultSetReturn().extract(statement);
+            while (rs.next()) {
+                long teamId = rs.getLong(4);
+                String teamName = null;
+                if (rs.wasNull()) {
+                    teamId = MemberTeamColumns.NO_TEAM;
+                } else {
+                    teamName = columns.teamName(teamId);
+                    if (teamName == null) {
+                        teamName = columns.putTeam(teamId, rs.getString(5));
+                    }
+                }
+                columns.add(rs.getLong(1), rs.getString(2), rs.getInt(3), teamId, teamName);
+
+                if (consumer != null && columns.size() == batchSize) {
+                    consumer.accept(columns);
+                    columns.clear();
+                }
+            }
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "could not read member columns", sql.getSql());
+        } finally {
+            jdbc.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbc.afterStatementExecution();
+        }
+        if (consumer != null && columns.size() > 0) {
+            consumer.accept(columns);
+            columns.clear();
+        }
+    }
+
+    // 정렬 조건이 없으면 member.id 오름차순
+    private OrderSpecifier<?>[] orderBy(MemberSort sort) {
+        return SORTS.get(sort != null ? sort : MemberSort.ID_ASC);
     }
 
     private BooleanExpression usernameEq(String username) {
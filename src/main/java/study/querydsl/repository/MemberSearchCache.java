@@ -0,0 +1,125 @@
+package study.querydsl.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/*
+* searchWhereParam 결과 캐시
+* - 키: 정규화한 MemberSearchCond (빈 문자열은 null 취급)
+* - 결과 행 수 기준 가중치(weight) + W-TinyLFU 제거, 쓰기 후 TTL 만료
+* - 회원 / 팀 변경 이벤트 수신 시 전체 무효화 (트랜잭션 종료 후 한 번 더 무효화해서 커밋 전 조회 결과가 남지 않도록 함)
+* - 쓰기 트랜잭션 안에서는 캐시를 거치지 않음 (커밋 전 변경이 다른 요청에 보이거나, 자신의 변경이 가려지지 않도록)
+* - 항목마다 조회 시작 시점의 커밋 버전을 기록하고, 조회 중에 커밋된 변경이 있으면 저장하지 않음
+*   트랜잭션 밖에서 발행된 이벤트(구간마다 커밋한 뒤 발행하는 MemberBulkExecutor)도 바로 버전을 올림 (fallbackExecution)
+*   (무효화 직후 이전 조회 결과가 저장되더라도 버전이 다르므로 사용하지 않음)
+* - 조회는 캐시의 compute 밖에서 실행 (같은 키의 다른 요청이 DB 조회 / DatabaseBulkhead 대기 동안 막히지 않음)
+* 캐시된 리스트는 여러 요청이 공유하므로 결과 DTO를 수정하면 안 됨
+* */
+@Slf4j
+@Component
+public class MemberSearchCache {
+
+    private final boolean enabled;
+    private final Cache<MemberSearchCond, Entry> cache;
+    // 회원 / 팀 변경 트랜잭션이 끝날 때마다 증가
+    private final AtomicLong commitVersion = new AtomicLong();
+
+    public MemberSearchCache(@Value("${member.search-cache.enabled:true}") boolean enabled,
+                             @Value("${member.search-cache.maximum-rows:100000}") long maximumRows,
+                             @Value("${member.search-cache.ttl:30s}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumRows)
+                .weigher((MemberSearchCond key, Entry value) -> value.rows.size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public List<MemberTeamDto> get(MemberSearchCond condition, Function<MemberSearchCond, List<MemberTeamDto>> loader) {
+        if (!enabled || writeTransactionActive()) {
+            return loader.apply(condition);
+        }
+        MemberSearchCond key = condition.normalize();
+        long version = commitVersion.get();
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null && cached.version == version) {
+            return cached.rows;
+        }
+
+        List<MemberTeamDto> rows = Collections.unmodifiableList(loader.apply(key));
+        if (commitVersion.get() == version) {
+            cache.put(key, new Entry(version, rows));
+        }
+        return rows;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public Cache<MemberSearchCond, ?> getNativeCache() {
+        return cache;
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        log.debug("member search cache invalidated: {}", event);
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void afterMemberChangeCompleted(MemberChangedEvent event) {
+        commitVersion.incrementAndGet();
+        invalidateAll();
+    }
+
+    // 검색 결과에 팀 이름이 포함되고 팀 이름 조건으로 검색하므로 팀 이름 변경도 무효화
+    @EventListener
+    public void onTeamChanged(TeamChangedEvent event) {
+        log.debug("member search cache invalidated: {}", event);
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void afterTeamChangeCompleted(TeamChangedEvent event) {
+        commitVersion.incrementAndGet();
+        invalidateAll();
+    }
+
+    private static boolean writeTransactionActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static class Entry {
+
+        private final long version;
+        private final List<MemberTeamDto> rows;
+
+        Entry(long version, List<MemberTeamDto> rows) {
+            this.version = version;
+            this.rows = rows;
+        }
+    }
+}
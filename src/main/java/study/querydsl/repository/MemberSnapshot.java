@@ -0,0 +1,239 @@
+package study.querydsl.repository;
+
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSort;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+* 회원 + 팀 검색용 컬럼 스냅샷 (불변)
+* 행은 member_id 오름차순이며 컬럼마다 기본형 배열로 보관
+* - 팀은 사전 인코딩: 행에는 팀 코드(int, 팀 없으면 -1)만 두고 팀 id / 이름은 코드별 배열
+* - username 일치 / 팀 이름 조건은 미리 만든 행 번호 목록에서 시작하고, 나머지 조건은 배열을 순서대로 비교
+* */
+class MemberSnapshot {
+
+    private static final int NO_TEAM = -1;
+    private static final int[] NO_ROWS = new int[0];
+
+    private final long[] memberIds;
+    private final String[] usernames;
+    private final int[] ages;
+    private final int[] teamCodes;
+    private final long[] teamIds;
+    private final String[] teamNames;
+    private final Map<String, int[]> rowsByUsername;
+    private final Map<String, int[]> rowsByTeamName;
+
+    private MemberSnapshot(long[] memberIds, String[] usernames, int[] ages, int[] teamCodes,
+                           long[] teamIds, String[] teamNames) {
+        this.memberIds = memberIds;
+        this.usernames = usernames;
+        this.ages = ages;
+        this.teamCodes = teamCodes;
+        this.teamIds = teamIds;
+        this.teamNames = teamNames;
+        this.rowsByUsername = rowsByUsername(usernames);
+        this.rowsByTeamName = rowsByTeamName(teamCodes, teamNames);
+    }
+
+    int size() {
+        return memberIds.length;
+    }
+
+    /*
+    * username 정렬은 DB 콜레이션과 순서가 다를 수 있으므로 지원하지 않음
+    * */
+    static boolean supports(MemberSort sort) {
+        return sort != MemberSort.USERNAME_ASC && sort != MemberSort.USERNAME_DESC;
+    }
+
+    /*
+    * normalize()된 조건만 전달
+    * */
+    List<MemberTeamDto> search(MemberSearchCond condition) {
+        int[] candidates = null;
+        if (condition.getUsername() != null) {
+            candidates = rowsByUsername.getOrDefault(condition.getUsername(), NO_ROWS);
+        } else if (condition.getTeamName() != null) {
+            candidates = rowsByTeamName.getOrDefault(condition.getTeamName(), NO_ROWS);
+        }
+
+        int count = candidates != null ? candidates.length : memberIds.length;
+        int[] matched = new int[Math.min(count, 1024)];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int row = candidates != null ? candidates[i] : i;
+            if (matches(row, condition)) {
+                if (size == matched.length) {
+                    matched = Arrays.copyOf(matched, Math.min(count, size * 2));
+                }
+                matched[size++] = row;
+            }
+        }
+
+        int[] ordered = order(matched, size, condition.getSort());
+        List<MemberTeamDto> result = new ArrayList<>(size);
+        for (int row : ordered) {
+            result.add(toDto(row));
+        }
+        return result;
+    }
+
+    private boolean matches(int row, MemberSearchCond condition) {
+        if (condition.getAgeGoe() != null && ages[row] < condition.getAgeGoe()) {
+            return false;
+        }
+        if (condition.getAgeLoe() != null && ages[row] > condition.getAgeLoe()) {
+            return false;
+        }
+        if (condition.getUsername() != null && !condition.getUsername().equals(usernames[row])) {
+            return false;
+        }
+        if (condition.getTeamName() != null) {
+            int teamCode = teamCodes[row];
+            return teamCode != NO_TEAM && condition.getTeamName().equals(teamNames[teamCode]);
+        }
+        return true;
+    }
+
+    /*
+    * 행 번호가 곧 member_id 순서이므로 나이 정렬은 (나이, 행 번호)를 long 하나로 묶어서 정렬
+    * */
+    private int[] order(int[] rows, int size, MemberSort sort) {
+        int[] ordered = Arrays.copyOf(rows, size);
+        if (sort == MemberSort.AGE_ASC || sort == MemberSort.AGE_DESC) {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) ages[ordered[i]] << 32) | ordered[i];
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < size; i++) {
+                ordered[i] = (int) keys[i];
+            }
+        }
+        if (sort == MemberSort.ID_DESC || sort == MemberSort.AGE_DESC) {
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                int tmp = ordered[i];
+                ordered[i] = ordered[j];
+                ordered[j] = tmp;
+            }
+        }
+        return ordered;
+    }
+
+    private MemberTeamDto toDto(int row) {
+        int teamCode = teamCodes[row];
+        return new MemberTeamDto(
+                memberIds[row],
+                usernames[row],
+                ages[row],
+                teamCode != NO_TEAM ? teamIds[teamCode] : null,
+                teamCode != NO_TEAM ? teamNames[teamCode] : null);
+    }
+
+    private static Map<String, int[]> rowsByUsername(String[] usernames) {
+        Map<String, int[]> rows = new HashMap<>(usernames.length * 2);
+        for (int row = 0; row < usernames.length; row++) {
+            if (usernames[row] == null) {
+                continue;
+            }
+            int[] previous = rows.get(usernames[row]);
+            if (previous == null) {
+                rows.put(usernames[row], new int[]{row});
+            } else {
+                int[] grown = Arrays.copyOf(previous, previous.length + 1);
+                grown[previous.length] = row;
+                rows.put(usernames[row], grown);
+            }
+        }
+        return rows;
+    }
+
+    // 같은 이름의 팀이 여러 개면 행 번호 목록을 합쳐서 정렬
+    private static Map<String, int[]> rowsByTeamName(int[] teamCodes, String[] teamNames) {
+        int[] counts = new int[teamNames.length];
+        for (int teamCode : teamCodes) {
+            if (teamCode != NO_TEAM) {
+                counts[teamCode]++;
+            }
+        }
+        Map<String, Integer> countsByName = new HashMap<>();
+        for (int code = 0; code < teamNames.length; code++) {
+            countsByName.merge(teamNames[code], counts[code], Integer::sum);
+        }
+
+        Map<String, int[]> rows = new HashMap<>(countsByName.size() * 2);
+        Map<String, Integer> filled = new HashMap<>(countsByName.size() * 2);
+        countsByName.forEach((name, count) -> {
+            rows.put(name, new int[count]);
+            filled.put(name, 0);
+        });
+        for (int row = 0; row < teamCodes.length; row++) {
+            if (teamCodes[row] != NO_TEAM) {
+                String name = teamNames[teamCodes[row]];
+                int index = filled.get(name);
+                rows.get(name)[index] = row;
+                filled.put(name, index + 1);
+            }
+        }
+        return rows;
+    }
+
+    /*
+    * member_id 오름차순으로 행을 추가
+    * */
+    static class Builder {
+
+        private long[] memberIds = new long[1024];
+        private String[] usernames = new String[1024];
+        private int[] ages = new int[1024];
+        private int[] teamCodes = new int[1024];
+        private int size;
+        private final Map<Long, Integer> teamCodeById = new HashMap<>();
+        private final List<Long> teamIds = new ArrayList<>();
+        private final List<String> teamNames = new ArrayList<>();
+
+        void add(long memberId, String username, int age, Long teamId, String teamName) {
+            if (size == memberIds.length) {
+                int capacity = size * 2;
+                memberIds = Arrays.copyOf(memberIds, capacity);
+                usernames = Arrays.copyOf(usernames, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                teamCodes = Arrays.copyOf(teamCodes, capacity);
+            }
+            memberIds[size] = memberId;
+            usernames[size] = username;
+            ages[size] = age;
+            teamCodes[size] = teamId != null ? teamCode(teamId, teamName) : NO_TEAM;
+            size++;
+        }
+
+        MemberSnapshot build() {
+            long[] codedTeamIds = new long[teamIds.size()];
+            for (int i = 0; i < codedTeamIds.length; i++) {
+                codedTeamIds[i] = teamIds.get(i);
+            }
+            return new MemberSnapshot(
+                    Arrays.copyOf(memberIds, size),
+                    Arrays.copyOf(usernames, size),
+                    Arrays.copyOf(ages, size),
+                    Arrays.copyOf(teamCodes, size),
+                    codedTeamIds,
+                    teamNames.toArray(new String[0]));
+        }
+
+        private int teamCode(Long teamId, String teamName) {
+            return teamCodeById.computeIfAbsent(teamId, id -> {
+                teamIds.add(id);
+                teamNames.add(teamName);
+                return teamIds.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package study.querydsl.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamDto;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
+
+/*
+* 메모리 스냅샷 회원 검색 (member.snapshot.enabled=true 일 때만 사용)
+* searchWhereParam 조건을 DB / JPA 없이 MemberSnapshot에서 처리
+* - 갱신: refresh-interval 주기 + 회원 / 팀 변경 커밋 후 refresh-delay 뒤 (그 사이 변경은 한 번의 갱신으로 합쳐짐)
+*   새 스냅샷을 만든 뒤 참조만 교체하므로 검색 중인 요청은 이전 스냅샷을 끝까지 사용
+* - 마지막 갱신 이후 커밋된 변경이 있거나 지원하지 않는 정렬이면 Optional.empty() (호출하는 쪽에서 DB 조회)
+* - 쓰기 트랜잭션 안에서는 아직 커밋되지 않은 자기 변경이 보여야 하므로 Optional.empty()
+* 회원 수에 비례해서 힙을 사용하므로 데이터가 자주 바뀌지 않는 환경에서만 활성화
+* */
+@Slf4j
+@Component
+public class MemberSnapshotSearch {
+
+    private final EntityManager em;
+    private final TransactionTemplate loadTx;
+    private final boolean enabled;
+    private final Duration refreshDelay;
+    private final int fetchSize;
+    private final Counter hits;
+    private final Counter fallbacks;
+    private final ScheduledExecutorService scheduler;
+
+    // 커밋된 변경 횟수
+    private final AtomicLong changeVersion = new AtomicLong();
+    private volatile Loaded loaded;
+
+    public MemberSnapshotSearch(EntityManager em,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${member.snapshot.enabled:false}") boolean enabled,
+                                @Value("${member.snapshot.refresh-interval:60s}") Duration refreshInterval,
+                                @Value("${member.snapshot.refresh-delay:1s}") Duration refreshDelay,
+                                @Value("${member.stream.fetch-size:1000}") int fetchSize) {
+        this.em = em;
+        // 커밋 직후 갱신하므로 복제 지연이 없는 primary에서 조회
+        this.loadTx = new TransactionTemplate(transactionManager);
+        this.loadTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.refreshDelay = refreshDelay;
+        this.fetchSize = fetchSize;
+        this.hits = meterRegistry.counter("member.snapshot.search", "result", "hit");
+        this.fallbacks = meterRegistry.counter("member.snapshot.search", "result", "fallback");
+        if (enabled) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "member-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // 주기 갱신은 변경 이벤트 없이 SQL로 직접 바뀐 데이터도 반영하도록 항상 다시 조회
+            this.scheduler.scheduleWithFixedDelay(() -> refreshSafely(true),
+                    refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public Optional<List<MemberTeamDto>> search(MemberSearchCond condition) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Loaded current = loaded;
+        if (current == null || current.version != changeVersion.get()
+                || !MemberSnapshot.supports(condition.getSort()) || writeTransactionActive()) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(current.snapshot.search(condition.normalize()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        changed();
+    }
+
+    // 스냅샷은 회원마다 팀 이름을 보관하므로 팀 이름 변경도 반영
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        changed();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        if (enabled) {
+            scheduler.execute(() -> refreshSafely(true));
+        }
+    }
+
+    public synchronized void refresh() {
+        long start = System.nanoTime();
+        long version = changeVersion.get();
+        MemberSnapshot.Builder builder = new MemberSnapshot.Builder();
+        loadTx.executeWithoutResult(status -> em
+                .createQuery("select m.id, m.username, m.age, t.id, t.name"
+                        + " from Member m left join m.team t order by m.id", Object[].class)
+                .setHint(FETCH_SIZE, fetchSize)
+                .getResultStream()
+                .forEach(row -> builder.add((Long) row[0], (String) row[1], (Integer) row[2],
+                        (Long) row[3], (String) row[4])));
+
+        MemberSnapshot fresh = builder.build();
+        // 조회 중에 커밋된 변경은 반영되지 않았을 수 있으므로 조회 시작 시점의 버전 기록 (이후 변경이 있으면 다시 갱신)
+        loaded = new Loaded(fresh, version);
+        log.info("member snapshot refreshed: {} members, {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void changed() {
+        if (!enabled) {
+            return;
+        }
+        changeVersion.incrementAndGet();
+        scheduler.schedule(() -> refreshSafely(false), refreshDelay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean writeTransactionActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private void refreshSafely(boolean force) {
+        try {
+            Loaded current = loaded;
+            if (force || current == null || current.version != changeVersion.get()) {
+                refresh();
+            }
+        } catch (RuntimeException e) {
+            log.warn("member snapshot refresh failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // 스냅샷과 버전을 한 번에 교체
+    private static class Loaded {
+
+        private final MemberSnapshot snapshot;
+        private final long version;
+
+        Loaded(MemberSnapshot snapshot, long version) {
+            this.snapshot = snapshot;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package study.querydsl.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.UsernameMatch;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
+
+/*
+* username 접두어 / 부분 일치 검색용 메모리 n-gram 색인 (member_id 반환)
+* - 소문자로 바꾼 username의 3-gram과 접두어 gram("^" + 앞 1 ~ 2글자)마다 정렬된 member_id 목록을 유지
+* - 검색: 질의의 gram 목록 중 가장 짧은 목록을 id 순서로 읽으면서 나머지 목록에 포함되는지 확인하고 실제 username으로 검증,
+*   limit 건을 찾으면 중단 (LIKE '%x%'처럼 테이블 전체를 읽지 않음)
+* - 3글자 미만 부분 일치는 gram이 없어서 전체를 검증해야 하므로 지원하지 않음 (supports, 호출하는 쪽에서 DB로 조회)
+* - 갱신: 회원 변경 트랜잭션 커밋 후 변경된 회원의 username을 DB에서 다시 읽어 반영 (롤백된 변경은 색인되지 않음)
+*   한 트랜잭션에서 여러 번 저장해도 커밋 후 한 번만 조회 (TransactionMemberIds)
+*   조회와 반영을 한 번에 하나씩 실행 → 먼저 읽은 이전 username이 나중에 반영되어 최신 값을 덮어쓰지 않음
+*   대상 회원을 특정하지 않은 변경(빈 memberIds)과 애플리케이션 시작 시에는 전체 재구성
+* 회원 수에 비례해서 힙을 사용 (회원당 username 길이 + 3개 정도의 id 항목)
+* */
+@Slf4j
+@Component
+public class MemberUsernameIndex {
+
+    private static final int GRAM = 3;
+    private static final String PREFIX_MARK = "^";
+
+    private final EntityManager em;
+    private final TransactionTemplate loadTx;
+    private final boolean enabled;
+    private final int fetchSize;
+    private final int chunkSize;
+
+    // 재구성 중 교체 / 재구성 중 변경된 회원 기록용 (색인 자체의 동시성은 GramIndex의 잠금 사용)
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile GramIndex index;
+    private Set<Long> touchedDuringRebuild;
+    private final Object refreshLock = new Object();
+    private final TransactionMemberIds changedMembers;
+
+    public MemberUsernameIndex(EntityManager em,
+                               EntityManagerFactory emf,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${member.username-index.enabled:true}") boolean enabled,
+                               @Value("${member.stream.fetch-size:1000}") int fetchSize,
+                               @Value("${member.batch.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        // 커밋 직후 읽으므로 복제 지연이 없는 primary에서 조회 (읽기 전용 트랜잭션은 복제본으로 라우팅될 수 있음)
+        this.loadTx = new TransactionTemplate(transactionManager);
+        this.loadTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+        this.chunkSize = chunkSize;
+        this.changedMembers = new TransactionMemberIds(emf, TransactionPhase.AFTER_COMMIT, this::refresh);
+    }
+
+    /*
+    * 색인이 아직 만들어지지 않았으면 false (MemberJpaRepository는 DB LIKE 조회로 대체)
+    * */
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /*
+    * 색인으로 처리할 수 있는 검색인지 (부분 일치는 3글자 이상)
+    * */
+    public boolean supports(String keyword, UsernameMatch match) {
+        return match == UsernameMatch.PREFIX || match == UsernameMatch.CONTAINS && keyword.length() >= GRAM;
+    }
+
+    public List<Long> search(String keyword, UsernameMatch match, int limit) {
+        if (!supports(keyword, match)) {
+            throw new IllegalArgumentException("username 색인으로 처리할 수 없는 검색입니다: " + match + " " + keyword);
+        }
+        GramIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("username 색인이 준비되지 않았습니다.");
+        }
+        return current.search(keyword.toLowerCase(Locale.ROOT), match, limit);
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (enabled) {
+            changedMembers.add(event.getMemberIds());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void afterUnspecifiedChange(MemberChangedEvent event) {
+        if (enabled && event.getMemberIds().isEmpty()) {
+            rebuild();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /*
+    * 새 색인을 만든 뒤 교체, 만드는 동안 변경된 회원은 교체 후 다시 반영
+    * */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        swapLock.writeLock().lock();
+        try {
+            touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        GramIndex fresh = new GramIndex();
+        loadTx.executeWithoutResult(status -> em
+                .createQuery("select m.id, m.username from Member m", Object[].class)
+                .setHint(FETCH_SIZE, fetchSize)
+                .getResultStream()
+                .forEach(row -> fresh.put((Long) row[0], (String) row[1])));
+
+        Set<Long> touched;
+        swapLock.writeLock().lock();
+        try {
+            index = fresh;
+            touched = touchedDuringRebuild;
+            touchedDuringRebuild = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        if (!touched.isEmpty()) {
+            refresh(new ArrayList<>(touched));
+        }
+        log.info("username index rebuilt: {} members, {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /*
+    * 커밋 순서와 갱신 순서가 다를 수 있으므로 (커밋 후 이벤트는 각 트랜잭션의 스레드에서 실행)
+    * 조회와 반영을 refreshLock 안에서 실행 → 마지막에 반영되는 값은 마지막으로 읽은(가장 최신의) username
+    * */
+    private void refresh(List<Long> memberIds) {
+        synchronized (refreshLock) {
+            Map<Long, String> usernames = new HashMap<>(memberIds.size() * 2);
+            for (int from = 0; from < memberIds.size(); from += chunkSize) {
+                List<Long> chunk = memberIds.subList(from, Math.min(from + chunkSize, memberIds.size()));
+                loadTx.executeWithoutResult(status -> em
+                        .createQuery("select m.id, m.username from Member m where m.id in :memberIds", Object[].class)
+                        .setParameter("memberIds", chunk)
+                        .getResultList()
+                        .forEach(row -> usernames.put((Long) row[0], (String) row[1])));
+            }
+
+            swapLock.readLock().lock();
+            try {
+                if (touchedDuringRebuild != null) {
+                    touchedDuringRebuild.addAll(memberIds);
+                }
+                GramIndex current = index;
+                if (current != null) {
+                    // 조회되지 않은 회원은 삭제된 회원
+                    for (Long memberId : memberIds) {
+                        current.put(memberId, usernames.get(memberId));
+                    }
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+        }
+    }
+
+    private static Set<String> grams(String username) {
+        Set<String> grams = new LinkedHashSet<>();
+        grams.add(PREFIX_MARK + username.substring(0, 1));
+        if (username.length() > 1) {
+            grams.add(PREFIX_MARK + username.substring(0, 2));
+        }
+        for (int i = 0; i + GRAM <= username.length(); i++) {
+            grams.add(username.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static class GramIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, LongPostings> postings = new HashMap<>();
+        private final Map<Long, String> usernames = new HashMap<>();
+
+        /*
+        * username이 null이면 색인에서 제거
+        * */
+        void put(Long memberId, String username) {
+            String normalized = username != null && !username.isEmpty() ? username.toLowerCase(Locale.ROOT) : null;
+            lock.writeLock().lock();
+            try {
+                String previous = usernames.get(memberId);
+                if (Objects.equals(previous, normalized)) {
+                    return;
+                }
+                if (previous != null) {
+                    for (String gram : grams(previous)) {
+                        LongPostings ids = postings.get(gram);
+                        ids.remove(memberId);
+                        if (ids.size() == 0) {
+                            postings.remove(gram);
+                        }
+                    }
+                    usernames.remove(memberId);
+                }
+                if (normalized != null) {
+                    for (String gram : grams(normalized)) {
+                        postings.computeIfAbsent(gram, key -> new LongPostings()).add(memberId);
+                    }
+                    usernames.put(memberId, normalized);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Long> search(String keyword, UsernameMatch match, int limit) {
+            if (keyword.isEmpty() || limit <= 0) {
+                return Collections.emptyList();
+            }
+            lock.readLock().lock();
+            try {
+                List<LongPostings> candidates = new ArrayList<>();
+                if (match == UsernameMatch.PREFIX) {
+                    candidates.add(postings.get(PREFIX_MARK + keyword.substring(0, Math.min(2, keyword.length()))));
+                }
+                for (int i = 0; i + GRAM <= keyword.length(); i++) {
+                    candidates.add(postings.get(keyword.substring(i, i + GRAM)));
+                }
+                if (candidates.contains(null)) {
+                    return Collections.emptyList();
+                }
+                candidates.sort(Comparator.comparingInt(LongPostings::size));
+
+                LongPostings smallest = candidates.get(0);
+                List<Long> result = new ArrayList<>(Math.min(limit, smallest.size()));
+                for (int i = 0; i < smallest.size() && result.size() < limit; i++) {
+                    long memberId = smallest.get(i);
+                    if (containedInAll(candidates, memberId) && matches(usernames.get(memberId), keyword, match)) {
+                        result.add(memberId);
+                    }
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            return usernames.size();
+        }
+
+        private static boolean containedInAll(List<LongPostings> candidates, long memberId) {
+            for (int i = 1; i < candidates.size(); i++) {
+                if (!candidates.get(i).contains(memberId)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matches(String username, String keyword, UsernameMatch match) {
+            switch (match) {
+                case PREFIX:
+                    return username.startsWith(keyword);
+                case CONTAINS:
+                    return username.contains(keyword);
+                default:
+                    return username.equals(keyword);
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAProvider;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.spi.PositionalParameterInformation;
+import org.hibernate.hql.spi.QueryTranslator;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntFunction;
+
+/*
+* 미리 컴파일한 쿼리 템플릿
+* Param 자리표시자로 정의한 Querydsl 쿼리를 조건 조합(shape)마다 한 번만 JPQL로 직렬화해서 보관하고,
+* 호출 시에는 파라미터만 바인딩 → 식 트리 생성 / JPQL 직렬화 생략, 같은 JPQL 문자열이므로 Hibernate QueryPlanCache 적중
+* shape는 정의 함수에 전달되는 정수로, 보통 사용하는 조건의 비트 조합
+* 메트릭: member.query.template (name, result=hit|miss), member.query.template.shapes (name)
+* */
+public class QueryTemplate<T> {
+
+    private final String name;
+    private final EntityManager em;
+    private final JPQLTemplates templates;
+    private final IntFunction<JPAQuery<T>> definition;
+    private final ConcurrentMap<Integer, CompiledQuery> compiled = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public QueryTemplate(String name, EntityManager em, MeterRegistry meterRegistry, IntFunction<JPAQuery<T>> definition) {
+        this.name = name;
+        this.em = em;
+        this.templates = JPAProvider.getTemplates(em);
+        this.definition = definition;
+        this.hits = Counter.builder("member.query.template").tag("name", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("member.query.template").tag("name", name).tag("result", "miss").register(meterRegistry);
+        Gauge.builder("member.query.template.shapes", compiled, Map::size).tag("name", name).register(meterRegistry);
+    }
+
+    public Binding bind(int shape) {
+        CompiledQuery query = compiled.get(shape);
+        if (query != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            query = compiled.computeIfAbsent(shape, this::compile);
+        }
+        return new Binding(query);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private CompiledQuery compile(int shape) {
+        QueryMetadata metadata = definition.apply(shape).getMetadata();
+        JPQLSerializer serializer = new JPQLSerializer(templates, em);
+        serializer.serialize(metadata, false, null);
+
+        Expression<?> projection = metadata.getProjection();
+        FactoryExpression<?> factory = projection instanceof FactoryExpression ? (FactoryExpression<?>) projection : null;
+        return new CompiledQuery(serializer.toString(), new ArrayList<>(serializer.getConstants()), factory);
+    }
+
+    private static class CompiledQuery {
+
+        private final String jpql;
+        private final List<Object> constants;
+        private final FactoryExpression<?> factory;
+
+        private CompiledQuery(String jpql, List<Object> constants, FactoryExpression<?> factory) {
+            this.jpql = jpql;
+            this.constants = constants;
+            this.factory = factory;
+        }
+    }
+
+    public class Binding {
+
+        private final CompiledQuery query;
+        private final Map<ParamExpression<?>, Object> params = new HashMap<>();
+        private final Map<String, Object> hints = new HashMap<>();
+
+        private Binding(CompiledQuery query) {
+            this.query = query;
+        }
+
+        public <P> Binding set(ParamExpression<P> param, P value) {
+            params.put(param, value);
+            return this;
+        }
+
+        public Binding hint(String hintName, Object value) {
+            hints.put(hintName, value);
+            return this;
+        }
+
+        public String getJpql() {
+            return query.jpql;
+        }
+
+        // JPQL 위치 파라미터(?1, ?2 ...) 순서의 바인딩 값
+        public List<Object> getParameterValues() {
+            List<Object> values = new ArrayList<>(query.constants.size());
+            for (Object constant : query.constants) {
+                values.add(constant instanceof ParamExpression ? params.get(constant) : constant);
+            }
+            return values;
+        }
+
+        /*
+        * Hibernate가 이 JPQL로 생성하는 SQL과, SQL의 ? 순서로 정렬한 바인딩 값
+        * 값은 실행 계획의 파라미터 정보(?n → SQL 위치)로 배치하므로 JPQL과 SQL의 파라미터 순서가 달라도 맞음
+        * Hibernate 5에는 HQL → SQL 변환 결과를 얻는 공개 API가 없어서 deprecated인 getQueryPlanCache()를 여기서만 사용
+        * (fetch()와 같은 QueryPlanCache 항목을 공유, Hibernate 6으로 올리면 이 메서드만 교체)
+        * */
+        @SuppressWarnings("deprecation")
+        public SqlStatement toSql() {
+            HQLQueryPlan plan = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getQueryPlanCache()
+                    .getHQLQueryPlan(query.jpql, false, Collections.emptyMap());
+            QueryTranslator[] translators = plan.getTranslators();
+            if (translators.length != 1) {
+                throw new IllegalStateException("SQL 문이 하나가 아닌 쿼리: " + query.jpql);
+            }
+
+            Map<Integer, PositionalParameterInformation> parameters =
+                    translators[0].getParameterTranslations().getPositionalParameterInformationMap();
+            int count = 0;
+            for (PositionalParameterInformation parameter : parameters.values()) {
+                count += parameter.getSourceLocations().length;
+            }
+
+            List<Object> values = getParameterValues();
+            Object[] sqlValues = new Object[count];
+            for (PositionalParameterInformation parameter : parameters.values()) {
+                for (int location : parameter.getSourceLocations()) {
+                    sqlValues[location] = values.get(parameter.getLabel() - 1);
+                }
+            }
+            return new SqlStatement(translators[0].getSQLString(), Arrays.asList(sqlValues));
+        }
+
+        @SuppressWarnings("unchecked")
+        public List<T> fetch() {
+            Query jpaQuery = em.createQuery(query.jpql);
+            JPAUtil.setConstants(jpaQuery, query.constants, params);
+            hints.forEach(jpaQuery::setHint);
+
+            List<?> rows = jpaQuery.getResultList();
+            if (query.factory == null) {
+                return (List<T>) rows;
+            }
+            List<T> result = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                Object[] args = row instanceof Object[] ? (Object[]) row : new Object[]{row};
+                result.add((T) query.factory.newInstance(args));
+            }
+            return result;
+        }
+    }
+
+    public static class SqlStatement {
+
+        private final String sql;
+        private final List<Object> parameterValues;
+
+        private SqlStatement(String sql, List<Object> parameterValues) {
+            this.sql = sql;
+            this.parameterValues = parameterValues;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public List<Object> getParameterValues() {
+            return parameterValues;
+        }
+
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (int i = 0; i < parameterValues.size(); i++) {
+                statement.setObject(i + 1, parameterValues.get(i));
+            }
+        }
+    }
+}
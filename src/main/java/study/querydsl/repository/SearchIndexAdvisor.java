@@ -0,0 +1,135 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCond;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+* 검색 인덱스 점검 (local 프로파일)
+* searchWhereParam의 조건 조합마다 실제로 실행되는 SQL에 EXPLAIN을 실행해서 전체 스캔하는 테이블을 보고
+* - H2: 실행 계획의 TABLE.tableScan 표시
+* - MySQL: type = ALL 인 행
+* */
+@Slf4j
+@Profile("local")
+@Component
+@RequiredArgsConstructor
+public class SearchIndexAdvisor {
+
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("(\\w+)\\.tableScan");
+    private static final List<String> CONDITIONS = List.of("username", "teamName", "ageGoe", "ageLoe");
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        for (ShapeReport report : advise()) {
+            if (report.getConditions().isEmpty()) {
+                // 조건이 없으면 전체 조회이므로 제외
+                continue;
+            }
+            if (report.getFullScans().isEmpty()) {
+                log.info("검색 인덱스 점검 {} → 인덱스 사용", report.getConditions());
+            } else {
+                log.warn("검색 인덱스 점검 {} → 전체 스캔 {}\n{}", report.getConditions(), report.getFullScans(), report.getPlan());
+            }
+        }
+    }
+
+    public List<ShapeReport> advise() {
+        List<ShapeReport> reports = new ArrayList<>();
+
+        for (int shape = 0; shape < 1 << CONDITIONS.size(); shape++) {
+            List<String> conditions = new ArrayList<>();
+            MemberSearchCond cond = sampleCondition(shape, conditions);
+
+            QueryTemplate.SqlStatement statement = memberJpaRepository.bindSearch(cond).toSql();
+            StringBuilder plan = new StringBuilder();
+            Set<String> fullScans = jdbcTemplate.query("EXPLAIN " + statement.getSql(), statement::bind, rs -> {
+                Set<String> tables = new LinkedHashSet<>();
+                while (rs.next()) {
+                    plan.append(readPlan(rs, tables)).append('\n');
+                }
+                return tables;
+            });
+            reports.add(new ShapeReport(conditions, statement.getSql(), plan.toString(), new ArrayList<>(fullScans)));
+        }
+        return reports;
+    }
+
+    private MemberSearchCond sampleCondition(int shape, List<String> conditions) {
+        MemberSearchCond cond = new MemberSearchCond();
+        if ((shape & 1) != 0) {
+            cond.setUsername("member1");
+            conditions.add("username");
+        }
+        if ((shape & 1 << 1) != 0) {
+            cond.setTeamName("teamA");
+            conditions.add("teamName");
+        }
+        if ((shape & 1 << 2) != 0) {
+            cond.setAgeGoe(10);
+            conditions.add("ageGoe");
+        }
+        if ((shape & 1 << 3) != 0) {
+            cond.setAgeLoe(20);
+            conditions.add("ageLoe");
+        }
+        return cond;
+    }
+
+    private String readPlan(ResultSet rs, Set<String> fullScans) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        StringBuilder row = new StringBuilder();
+        String table = null;
+        String accessType = null;
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String label = metaData.getColumnLabel(i);
+            String value = rs.getString(i);
+            if ("table".equalsIgnoreCase(label)) {
+                table = value;
+            } else if ("type".equalsIgnoreCase(label)) {
+                accessType = value;
+            }
+            row.append(i > 1 ? " | " : "").append(value);
+        }
+
+        if ("ALL".equalsIgnoreCase(accessType) && table != null) {
+            fullScans.add(table);
+        }
+        Matcher matcher = H2_TABLE_SCAN.matcher(row);
+        while (matcher.find()) {
+            fullScans.add(matcher.group(1));
+        }
+        return row.toString();
+    }
+
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    public static class ShapeReport {
+
+        private final List<String> conditions;
+        private final String sql;
+        private final String plan;
+        private final List<String> fullScans;
+    }
+}
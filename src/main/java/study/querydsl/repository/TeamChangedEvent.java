@@ -0,0 +1,19 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+* 팀 데이터 변경 이벤트
+* TeamJpaRepository의 팀 이름 변경 시 발행되고, 회원과 함께 팀 이름을 보관하는 파생 데이터(검색 캐시 / 스냅샷)의 갱신에 사용
+* */
+@Getter
+@ToString
+public class TeamChangedEvent {
+
+    private final Long teamId;
+
+    public TeamChangedEvent(Long teamId) {
+        this.teamId = teamId;
+    }
+}
@@ -0,0 +1,120 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Optional;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@Repository
+public class TeamJpaRepository {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TeamJpaRepository(EntityManager em, ApplicationEventPublisher eventPublisher) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void save(Team team) {
+        em.persist(team);
+    }
+
+    /*
+    * 팀 이름 변경 (팀이 없으면 Optional.empty())
+    * 회원 검색 결과에 팀 이름이 포함되므로 TeamChangedEvent 발행 (검색 캐시 / 스냅샷 갱신)
+    * */
+    @Transactional
+    public Optional<Team> rename(Long teamId, String name) {
+        Team target = em.find(Team.class, teamId);
+        if (target == null) {
+            return Optional.empty();
+        }
+        target.changeName(name);
+        eventPublisher.publishEvent(new TeamChangedEvent(teamId));
+        return Optional.of(target);
+    }
+
+    /*
+    * 팀 + 소속 회원 전체 조회
+    * */
+    @Transactional(readOnly = true)
+    public List<Team> findAllWithMembers(TeamMemberFetch fetch) {
+        if (fetch == TeamMemberFetch.FETCH_JOIN) {
+            return queryFactory
+                    .selectFrom(team).distinct()
+                    .leftJoin(team.members, member).fetchJoin()
+                    .orderBy(team.id.asc())
+                    .fetch();
+        }
+
+        List<Team> teams = queryFactory
+                .selectFrom(team)
+                .orderBy(team.id.asc())
+                .fetch();
+        initializeMembers(teams);
+        return teams;
+    }
+
+    /*
+    * 팀 + 소속 회원 페이징 조회
+    * 컬렉션 페치 조인은 DB 페이징이 불가능(메모리 페이징)하므로
+    * FETCH_JOIN은 팀 ID만 먼저 페이징하고, 해당 ID의 팀만 페치 조인
+    * */
+    @Transactional(readOnly = true)
+    public Page<Team> findWithMembers(Pageable pageable, TeamMemberFetch fetch) {
+        List<Team> content;
+        if (fetch == TeamMemberFetch.FETCH_JOIN) {
+            List<Long> teamIds = queryFactory
+                    .select(team.id)
+                    .from(team)
+                    .orderBy(team.id.asc())
+                    .offset(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .fetch();
+
+            content = teamIds.isEmpty() ? List.of() : queryFactory
+                    .selectFrom(team).distinct()
+                    .leftJoin(team.members, member).fetchJoin()
+                    .where(team.id.in(teamIds))
+                    .orderBy(team.id.asc())
+                    .fetch();
+        } else {
+            content = queryFactory
+                    .selectFrom(team)
+                    .orderBy(team.id.asc())
+                    .offset(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .fetch();
+            initializeMembers(content);
+        }
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(team.count())
+                .from(team);
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    // 첫 번째 컬렉션 초기화 시 배치 크기만큼의 팀 members가 IN 쿼리로 함께 로딩됨
+    private void initializeMembers(List<Team> teams) {
+        for (Team findTeam : teams) {
+            Hibernate.initialize(findTeam.getMembers());
+        }
+    }
+}
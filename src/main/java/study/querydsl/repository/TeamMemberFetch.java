@@ -0,0 +1,10 @@
+package study.querydsl.repository;
+
+/*
+* Team.members 로딩 방식
+* - FETCH_JOIN: 팀과 회원을 조인 한 번으로 조회 (페이징 시 팀 ID를 먼저 페이징한 뒤 해당 팀만 페치 조인)
+* - BATCH: 팀만 페이징 조회 후 members를 Team.members의 @BatchSize 단위 IN 쿼리로 조회
+* */
+public enum TeamMemberFetch {
+    FETCH_JOIN, BATCH
+}
@@ -0,0 +1,226 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import study.querydsl.dto.QTeamStatsDto;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberChangedEvent.ChangeType;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.LockModeType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.entity.QTeamStats.teamStats;
+
+/*
+* 팀별 회원 나이 통계 (team_stats 롤업 테이블)
+* 조회는 회원 테이블을 집계하지 않고 팀 수만큼의 롤업 행만 읽음
+* 회원 변경 이벤트를 변경과 같은 트랜잭션에서 처리해서 롤업을 갱신
+* (MemberBulkExecutor는 구간별 트랜잭션이 모두 커밋된 뒤 이벤트를 발행하므로 작업이 끝날 때까지 롤업이 늦게 반영됨)
+* - SAVE: 트랜잭션에서 저장한 회원을 모아서 커밋 직전에 한 번, 팀별로 집계해서 count / sum / min / max에 누적 (롤업 행이 없는 팀은 재계산)
+*   저장마다 집계하면 쓰기 지연된 INSERT가 매번 flush되고 저장 횟수만큼 같은 SQL이 반복됨
+*   같은 트랜잭션에서 조회 / 재계산 / 재구성하기 전에는 모아 둔 저장분을 먼저 누적
+* - BULK_UPDATE / BULK_DELETE: min / max는 빼는 방식으로 갱신할 수 없으므로 이벤트의 teamIds만 회원 테이블에서 재계산 (나이와 무관한 변경은 teamIds를 비워서 보냄)
+* - 대상 회원을 특정하지 않은 변경(빈 memberIds)과 애플리케이션 시작 시에는 전체 재구성
+* */
+@Slf4j
+@Repository
+@Transactional(readOnly = true)
+public class TeamStatsRepository {
+
+    private static final String AGGREGATE_SELECT =
+            "select m.team.id, count(m), sum(m.age), min(m.age), max(m.age) from Member m ";
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final int chunkSize;
+    private final TransactionMemberIds savedMembers;
+
+    public TeamStatsRepository(EntityManager em,
+                               EntityManagerFactory emf,
+                               @Value("${member.batch.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.chunkSize = chunkSize;
+        this.savedMembers = new TransactionMemberIds(emf, TransactionPhase.BEFORE_COMMIT, this::accumulate);
+    }
+
+    /*
+    * 회원이 없는 팀도 포함 (team left join team_stats)
+    * */
+    public List<TeamStatsDto> findAll() {
+        applyPendingSaves();
+        return queryFactory
+                .select(new QTeamStatsDto(
+                        team.id,
+                        team.name,
+                        teamStats.memberCount,
+                        teamStats.ageSum,
+                        teamStats.minAge,
+                        teamStats.maxAge
+                ))
+                .from(team)
+                .leftJoin(teamStats).on(teamStats.teamId.eq(team.id))
+                .orderBy(team.id.asc())
+                .fetch();
+    }
+
+    public Optional<TeamStatsDto> findByTeamId(Long teamId) {
+        applyPendingSaves();
+        TeamStatsDto stats = queryFactory
+                .select(new QTeamStatsDto(
+                        team.id,
+                        team.name,
+                        teamStats.memberCount,
+                        teamStats.ageSum,
+                        teamStats.minAge,
+                        teamStats.maxAge
+                ))
+                .from(team)
+                .leftJoin(teamStats).on(teamStats.teamId.eq(team.id))
+                .where(team.id.eq(teamId))
+                .fetchOne();
+        return Optional.ofNullable(stats);
+    }
+
+    @Transactional
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (event.getMemberIds().isEmpty()) {
+            rebuild();
+        } else if (event.getType() == ChangeType.SAVE) {
+            savedMembers.add(event.getMemberIds());
+        } else {
+            recompute(event.getTeamIds());
+        }
+    }
+
+    /*
+    * 전체 재구성 (애플리케이션 시작 시, 증분 갱신으로 처리할 수 없는 변경 시 사용)
+    * 모든 팀 행을 id 순서로 잠가서 재계산 / 누적과 직렬화 (재구성 중에 커밋된 저장분이 빠지거나 두 번 누적되지 않도록)
+    * */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // 재구성에 포함되는 저장분이 커밋 시 다시 누적되지 않도록 먼저 반영
+        applyPendingSaves();
+        em.createQuery("select t from Team t order by t.id", Team.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        em.createQuery("delete from TeamStats").executeUpdate();
+        int teams = em.createQuery("insert into TeamStats (teamId, memberCount, ageSum, minAge, maxAge) "
+                        + AGGREGATE_SELECT + "where m.team is not null group by m.team.id")
+                .executeUpdate();
+        log.info("team stats rebuilt: {} teams", teams);
+    }
+
+    /*
+    * 지정한 팀의 롤업 행을 회원 테이블에서 다시 계산 (회원이 없으면 행 삭제)
+    * 팀 행을 id 순서로 잠가서 같은 팀의 재계산을 직렬화
+    * - 두 트랜잭션이 같은 팀의 첫 회원을 동시에 저장하면 둘 다 누적할 행이 없어서 재계산하고, 잠그지 않으면 두 번째 INSERT가 PK 충돌
+    * - 잠금을 기다린 트랜잭션은 먼저 커밋된 회원까지 포함해서 다시 집계
+    * */
+    @Transactional
+    public void recompute(Collection<Long> teamIds) {
+        applyPendingSaves();
+        List<Long> sorted = new ArrayList<>(teamIds);
+        Collections.sort(sorted);
+        for (List<Long> chunk : chunks(sorted)) {
+            lockTeams(chunk);
+            em.createQuery("delete from TeamStats s where s.teamId in :teamIds")
+                    .setParameter("teamIds", chunk)
+                    .executeUpdate();
+            em.createQuery("insert into TeamStats (teamId, memberCount, ageSum, minAge, maxAge) "
+                            + AGGREGATE_SELECT + "where m.team.id in :teamIds group by m.team.id")
+                    .setParameter("teamIds", chunk)
+                    .executeUpdate();
+        }
+    }
+
+    /*
+    * 현재 트랜잭션에서 모아 둔 저장분을 지금 누적 (같은 트랜잭션에서 롤업을 읽기 전에 호출)
+    * */
+    public void applyPendingSaves() {
+        savedMembers.flush();
+    }
+
+    /*
+    * 팀별 증분을 먼저 모두 집계한 뒤 팀 행을 id 순서로 잠그고 누적 (재계산 / 재구성과 같은 잠금 순서)
+    * */
+    private void accumulate(List<Long> memberIds) {
+        Map<Long, long[]> deltas = new TreeMap<>();
+        for (List<Long> chunk : chunks(memberIds)) {
+            // 회원 테이블 조회 전에 쓰기 지연된 INSERT가 flush됨 (FlushMode AUTO)
+            List<Object[]> rows = em.createQuery(AGGREGATE_SELECT
+                            + "where m.id in :memberIds and m.team is not null group by m.team.id", Object[].class)
+                    .setParameter("memberIds", chunk)
+                    .getResultList();
+            for (Object[] row : rows) {
+                long[] delta = {((Number) row[1]).longValue(), ((Number) row[2]).longValue(),
+                        ((Number) row[3]).intValue(), ((Number) row[4]).intValue()};
+                deltas.merge((Long) row[0], delta, (a, b) -> new long[]{
+                        a[0] + b[0], a[1] + b[1], Math.min(a[2], b[2]), Math.max(a[3], b[3])});
+            }
+        }
+
+        Set<Long> missing = new HashSet<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(deltas.keySet()))) {
+            lockTeams(chunk);
+            for (Long teamId : chunk) {
+                long[] delta = deltas.get(teamId);
+                int updated = em.createQuery("update TeamStats s set"
+                                + " s.memberCount = s.memberCount + :count,"
+                                + " s.ageSum = s.ageSum + :sum,"
+                                + " s.minAge = case when s.minAge > :min then :min else s.minAge end,"
+                                + " s.maxAge = case when s.maxAge < :max then :max else s.maxAge end"
+                                + " where s.teamId = :teamId")
+                        .setParameter("count", delta[0])
+                        .setParameter("sum", delta[1])
+                        .setParameter("min", (int) delta[2])
+                        .setParameter("max", (int) delta[3])
+                        .setParameter("teamId", teamId)
+                        .executeUpdate();
+                if (updated == 0) {
+                    missing.add(teamId);
+                }
+            }
+        }
+        // 첫 회원이 저장된 팀은 누적할 행이 없으므로 (이번 저장분을 포함해) 재계산
+        if (!missing.isEmpty()) {
+            recompute(missing);
+        }
+    }
+
+    // teamIds는 정렬된 상태로 전달 (잠금 순서를 고정해서 교착 상태 방지)
+    private void lockTeams(List<Long> teamIds) {
+        em.createQuery("select t from Team t where t.id in :teamIds order by t.id", Team.class)
+                .setParameter("teamIds", teamIds)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
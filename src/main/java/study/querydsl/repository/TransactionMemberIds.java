@@ -0,0 +1,112 @@
+package study.querydsl.repository;
+
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/*
+* 회원 변경 이벤트의 memberIds를 트랜잭션 단위로 모아서 한 번에 처리
+* save()를 반복하는 트랜잭션에서 이벤트마다 SQL을 실행하면 쓰기 지연된 INSERT가 매번 flush되고 (JDBC 배치 무효화)
+* 같은 형태의 SQL이 저장 횟수만큼 반복되므로 (StatementGuardFilter) 트랜잭션마다 한 번만 처리
+* - 모은 id는 트랜잭션에 등록한 TransactionSynchronization에 보관 (트랜잭션의 EntityManagerHolder 기준 → REQUIRES_NEW 트랜잭션과 섞이지 않음)
+* - BEFORE_COMMIT: 커밋 직전 같은 트랜잭션에서 처리 (실패하면 커밋되지 않음), 같은 트랜잭션에서 결과를 읽기 전에는 flush() 호출
+* - AFTER_COMMIT: 커밋 후 처리, 롤백되면 버림
+* - 트랜잭션 밖에서 추가하면 바로 처리
+* */
+class TransactionMemberIds {
+
+    private final EntityManagerFactory emf;
+    private final TransactionPhase phase;
+    private final Consumer<List<Long>> action;
+
+    TransactionMemberIds(EntityManagerFactory emf, TransactionPhase phase, Consumer<List<Long>> action) {
+        this.emf = emf;
+        this.phase = phase;
+        this.action = action;
+    }
+
+    void add(Collection<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        Object transaction = TransactionSynchronizationManager.getResource(emf);
+        if (transaction == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(new ArrayList<>(memberIds));
+            return;
+        }
+        Object key = key(transaction);
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(key);
+        if (pending == null) {
+            pending = new Pending(key);
+            TransactionSynchronizationManager.bindResource(key, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.memberIds.addAll(memberIds);
+    }
+
+    /*
+    * 현재 트랜잭션에 모인 id를 지금 처리
+    * */
+    void flush() {
+        Object transaction = TransactionSynchronizationManager.getResource(emf);
+        if (transaction == null) {
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(key(transaction));
+        if (pending != null) {
+            pending.run();
+        }
+    }
+
+    // 이 버퍼 + 현재 트랜잭션의 EntityManagerHolder (둘 다 equals를 재정의하지 않으므로 동일성 비교)
+    private Object key(Object transaction) {
+        return Arrays.asList(this, transaction);
+    }
+
+    private class Pending implements TransactionSynchronization {
+
+        private final Object key;
+        private final Set<Long> memberIds = new LinkedHashSet<>();
+
+        Pending(Object key) {
+            this.key = key;
+        }
+
+        void run() {
+            if (memberIds.isEmpty()) {
+                return;
+            }
+            List<Long> drained = new ArrayList<>(memberIds);
+            memberIds.clear();
+            action.accept(drained);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (phase == TransactionPhase.BEFORE_COMMIT) {
+                run();
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (phase == TransactionPhase.AFTER_COMMIT) {
+                run();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(key);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +22,9 @@ import study.querydsl.dto.UserDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.Team;
+import study.querydsl.monitoring.MaxRepeatedStatements;
+import study.querydsl.monitoring.QueryCountExtension;
+import study.querydsl.monitoring.StatementTracker;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -33,6 +37,7 @@ import static study.querydsl.entity.QTeam.team;
 
 @SpringBootTest
 @Transactional
+@ExtendWith(QueryCountExtension.class)
 public class QuerydslTest {
 
     @Autowired
@@ -309,6 +314,45 @@ public class QuerydslTest {
         System.out.println("loaded = " + loaded);
     }
 
+    /*
+    * 지연 로딩 N+1 확인
+    * 회원 조회 1번 + 회원마다 팀 조회 (팀 2개)
+    * */
+    @Test
+    public void lazyLoadingNPlusOne(StatementTracker tracker) {
+        em.flush();
+        em.clear();
+        tracker.reset();
+
+        List<Member> result = queryFactory
+                .selectFrom(member)
+                .fetch();
+        for (Member member1 : result) {
+            member1.getTeam().getName();
+        }
+
+        assertThat(tracker.getTotalCount()).isEqualTo(3);
+        assertThat(tracker.repeatedShapes(1)).hasSize(1);
+    }
+
+    @Test
+    @MaxRepeatedStatements(1)
+    public void fetchJoinNoNPlusOne(StatementTracker tracker) {
+        em.flush();
+        em.clear();
+        tracker.reset();
+
+        List<Member> result = queryFactory
+                .selectFrom(member)
+                .join(member.team, team).fetchJoin()
+                .fetch();
+        for (Member member1 : result) {
+            member1.getTeam().getName();
+        }
+
+        assertThat(tracker.getTotalCount()).isEqualTo(1);
+    }
+
     /*
     * 제일 나이 많은 회원
     * */
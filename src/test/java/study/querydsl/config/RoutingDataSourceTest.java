@@ -0,0 +1,95 @@
+package study.querydsl.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 두 개의 H2 인메모리 DB를 primary / replica로 사용해서 라우팅 확인
+* replica에는 primary 스키마만 복사하고, 복제된 데이터 대신 replica에 직접 INSERT
+* */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "member.datasource.replica.enabled=true",
+        "member.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "member.datasource.replica.username=sa",
+        "member.datasource.replica.health-check-interval-millis=600000",
+        "member.search-cache.enabled=false"
+})
+class RoutingDataSourceTest {
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    ReplicaHealthMonitor replicaHealthMonitor;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    JdbcTemplate primary;
+    JdbcTemplate replica;
+
+    @BeforeEach
+    void copySchema() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        List<String> ddl = primary.queryForList("SCRIPT NODATA", String.class);
+        replica.execute("DROP ALL OBJECTS");
+        ddl.stream()
+                .filter(sql -> !sql.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+        replicaHealthMonitor.markUp();
+    }
+
+    // 회원 변경 이벤트를 발행하는 벌크 삭제로 정리 (쓰기 트랜잭션이므로 primary에서 삭제)
+    @AfterEach
+    void cleanUp() {
+        memberJpaRepository.bulkDelete(new MemberSearchCond());
+        replica.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void 쓰기는_primary_읽기는_replica() {
+        memberJpaRepository.save(new Member("primaryMember", 10));
+        replica.update("INSERT INTO member (member_id, username, age) VALUES (100000, 'replicaMember', 20)");
+
+        assertThat(primary.queryForList("SELECT username FROM member", String.class))
+                .containsExactly("primaryMember");
+        assertThat(memberJpaRepository.findAll()).extracting("username").containsExactly("replicaMember");
+        assertThat(memberJpaRepository.findByUsernameQuerydsl("primaryMember")).isEmpty();
+    }
+
+    @Test
+    public void 복제본_장애시_primary_조회() {
+        memberJpaRepository.save(new Member("primaryMember", 10));
+
+        replicaHealthMonitor.markDown("test");
+
+        assertThat(memberJpaRepository.findAll()).extracting("username").containsExactly("primaryMember");
+    }
+
+    @Test
+    public void 복제_지연_초과시_primary_조회() {
+        ReplicaHealthMonitor laggingMonitor = new ReplicaHealthMonitor(replicaDataSource, "SELECT 10", Duration.ofSeconds(5));
+
+        laggingMonitor.check();
+
+        assertThat(laggingMonitor.isAvailable()).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package study.querydsl.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSort;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberControllerTest {
+
+    @Autowired
+    MemberController memberController;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    EntityManager em;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        memberJpaRepository.save(new Member("member1", 10, teamA));
+        memberJpaRepository.save(new Member("member2", 20, teamA));
+        memberJpaRepository.save(new Member("member3", 30));
+    }
+
+    @Test
+    public void 스트리밍_응답() throws IOException {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setAgeGoe(20);
+        cond.setSort(MemberSort.AGE_ASC);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        memberController.searchV1Stream(cond, new MockHttpServletRequest(), response);
+
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        // 같은 조건의 /v1/members 응답과 같은 내용
+        JsonNode expected = objectMapper.valueToTree(memberController.searchV1(cond));
+        assertThat(body.get("data").toString()).isEqualTo(expected.get("data").toString());
+        assertThat(body.get("count").asInt()).isEqualTo(expected.get("count").asInt()).isEqualTo(2);
+        assertThat(body.get("data").get(1).get("teamId").isNull()).isTrue();
+    }
+
+    @Test
+    public void 스트리밍_응답_gzip() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "deflate, gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        memberController.searchV1Stream(new MemberSearchCond(), request, response);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            JsonNode body = objectMapper.readTree(in);
+            assertThat(body.get("count").asInt()).isEqualTo(3);
+            assertThat(body.get("data")).extracting(row -> row.get("username").asText())
+                    .containsExactlyInAnyOrder("member1", "member2", "member3");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 동기(/v1/members) vs 비동기(/v1/members/async) 검색 처리량 비교
+* 동시 클라이언트 수를 늘려가며 일정 시간 동안 처리한 요청 수를 출력
+* 실행: ./gradlew loadTest
+* */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "member.search-cache.enabled=false")
+class MemberSearchLoadTest {
+
+    private static final int[] CLIENTS = {1, 4, 16, 64};
+    private static final long DURATION_MILLIS = 3_000;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            List<Member> members = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                members.add(new Member("member" + i, i % 100, i % 2 == 0 ? teamA : teamB));
+            }
+            memberJpaRepository.saveAll(members);
+        });
+    }
+
+    // 회원 변경 이벤트를 발행하는 벌크 삭제로 정리 (username 색인 / 스냅샷 / 팀 통계 갱신)
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberJpaRepository.bulkDelete(new MemberSearchCond());
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @Test
+    public void 처리량_비교() throws InterruptedException {
+        String query = "?teamName=teamA&ageGoe=20&ageLoe=40";
+        for (int clients : CLIENTS) {
+            double sync = throughput("/v1/members" + query, clients);
+            double async = throughput("/v1/members/async" + query, clients);
+            System.out.printf("clients = %3d / sync = %8.1f req/s / async = %8.1f req/s%n", clients, sync, async);
+        }
+    }
+
+    private double throughput(String url, int clients) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+                    if (response.getStatusCode() == HttpStatus.OK) {
+                        completed.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        done.await(DURATION_MILLIS * 3, TimeUnit.MILLISECONDS);
+        executor.shutdownNow();
+
+        assertThat(failed.get()).isZero();
+        return completed.get() * 1000.0 / DURATION_MILLIS;
+    }
+}
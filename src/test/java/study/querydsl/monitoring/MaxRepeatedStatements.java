@@ -0,0 +1,16 @@
+package study.querydsl.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+* 같은 형태의 SQL 최대 허용 횟수 (QueryCountExtension과 함께 사용)
+* */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MaxRepeatedStatements {
+
+    int value();
+}
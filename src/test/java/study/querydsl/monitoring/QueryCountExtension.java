@@ -0,0 +1,59 @@
+package study.querydsl.monitoring;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.util.Map;
+import java.util.Optional;
+
+/*
+* 테스트 메서드 단위 SQL 집계
+* - @BeforeEach 이후부터 테스트 메서드 종료까지 실행된 SQL을 StatementTracker로 집계
+* - 테스트 메서드 파라미터로 StatementTracker를 받아서 직접 검증 가능
+* - @MaxRepeatedStatements가 붙은 테스트는 같은 형태의 SQL이 지정 횟수를 넘으면 실패
+* */
+public class QueryCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryCountExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        tracker(context);
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        StatementTracker tracker = context.getStore(NAMESPACE).remove(StatementTracker.class, StatementTracker.class);
+        if (tracker == null) {
+            return;
+        }
+        tracker.stop();
+
+        Optional<MaxRepeatedStatements> limit = context.getTestMethod()
+                .map(method -> method.getAnnotation(MaxRepeatedStatements.class));
+        if (limit.isPresent() && !context.getExecutionException().isPresent()) {
+            Map<String, Integer> repeated = tracker.repeatedShapes(limit.get().value());
+            if (!repeated.isEmpty()) {
+                throw new NPlusOneDetectedException(context.getDisplayName(), limit.get().value(), repeated);
+            }
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == StatementTracker.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return tracker(extensionContext);
+    }
+
+    private StatementTracker tracker(ExtensionContext context) {
+        return context.getStore(NAMESPACE).getOrComputeIfAbsent(StatementTracker.class,
+                key -> StatementTracker.start(), StatementTracker.class);
+    }
+}
@@ -0,0 +1,67 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementGuardFilterTest {
+
+    @Test
+    public void fail_모드는_응답_커밋_전에_실패() throws Exception {
+        StatementGuardFilter filter = new StatementGuardFilter(true, 2, StatementGuardFilter.Mode.FAIL, new SimpleMeterRegistry());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> filter.doFilter(request(), response, chain(3)))
+                .isInstanceOf(NPlusOneDetectedException.class);
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsString()).isEmpty();
+    }
+
+    @Test
+    public void fail_모드_정상_응답은_그대로_전달() throws Exception {
+        StatementGuardFilter filter = new StatementGuardFilter(true, 2, StatementGuardFilter.Mode.FAIL, new SimpleMeterRegistry());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, chain(2));
+        assertThat(response.getContentAsString()).isEqualTo("ok");
+    }
+
+    @Test
+    public void log_모드는_응답_유지() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatementGuardFilter filter = new StatementGuardFilter(true, 2, StatementGuardFilter.Mode.LOG, registry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, chain(3));
+        assertThat(response.getContentAsString()).isEqualTo("ok");
+        assertThat(registry.counter("member.statement-guard.violations").count()).isEqualTo(1);
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/v1/members");
+    }
+
+    // 같은 형태의 SQL을 statements회 실행한 뒤 본문을 쓰고 flush (커밋)
+    private MockFilterChain chain(int statements) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                for (int i = 0; i < statements; i++) {
+                    StatementTracker.current().record("select * from team where team_id = " + i);
+                }
+                resp.getWriter().write("ok");
+                resp.flushBuffer();
+            }
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+/*
+* 구간마다 커밋되므로 테스트 트랜잭션 없이 실행하고 직접 정리
+* */
+@SpringBootTest(properties = {"member.bulk.range-size=10", "member.bulk.workers=3"})
+class MemberBulkExecutorTest {
+
+    private static final String JOB_NAME = "age-plus-test";
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberBulkExecutor memberBulkExecutor;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MemberSearchCache memberSearchCache;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("TeamA");
+            Team teamB = new Team("TeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            List<Member> members = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                members.add(new Member("member" + i, i, i % 2 == 0 ? teamA : teamB));
+            }
+            memberJpaRepository.saveAll(members);
+        });
+    }
+
+    // 회원 변경 이벤트를 발행하는 벌크 삭제로 정리 (username 색인 / 스냅샷 / 팀 통계 갱신)
+    @AfterEach
+    void cleanUp() {
+        memberBulkExecutor.reset(JOB_NAME);
+        tx.executeWithoutResult(status -> {
+            memberJpaRepository.bulkDelete(new MemberSearchCond());
+            em.createQuery("DELETE FROM Team t").executeUpdate();
+        });
+    }
+
+    @Test
+    public void 구간_분할_수정() {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("TeamA");
+        cond.setAgeLoe(49);
+
+        BulkJobResult result = memberBulkExecutor.update(JOB_NAME, cond,
+                update -> update.set(member.age, member.age.add(1000)));
+
+        assertThat(result.getAffectedRows()).isEqualTo(25);
+        assertThat(result.getTotalRanges()).isGreaterThanOrEqualTo(10);
+        assertThat(result.getCompletedRanges()).isEqualTo(result.getTotalRanges());
+        assertThat(countAgeGoe(1000)).isEqualTo(25);
+
+        // 같은 jobName으로 재실행하면 완료된 구간을 건너뜀
+        BulkJobResult rerun = memberBulkExecutor.update(JOB_NAME, cond,
+                update -> update.set(member.age, member.age.add(1000)));
+
+        assertThat(rerun.getSkippedRanges()).isEqualTo(result.getTotalRanges());
+        assertThat(rerun.getAffectedRows()).isZero();
+        assertThat(countAgeGoe(2000)).isZero();
+    }
+
+    @Test
+    public void 구간_분할_삭제() {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setAgeGoe(90);
+
+        BulkJobResult result = memberBulkExecutor.delete(JOB_NAME, cond);
+
+        assertThat(result.getAffectedRows()).isEqualTo(10);
+        assertThat(memberJpaRepository.findAll()).hasSize(90);
+    }
+
+    @Test
+    public void 작업_전에_시작한_검색_결과는_캐시하지_않음() {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("TeamA");
+        cond.setAgeLoe(49);
+
+        // 작업 전에 조회하고 작업이 끝난 뒤에 캐시에 저장하려는 검색
+        List<MemberTeamDto> stale = memberSearchCache.get(cond, key -> {
+            List<MemberTeamDto> rows = memberJpaRepository.searchByBuilder(key);
+            memberBulkExecutor.update(JOB_NAME, cond, update -> update.set(member.age, member.age.add(1000)));
+            return rows;
+        });
+        assertThat(stale).hasSize(25);
+
+        // 트랜잭션 밖에서 발행된 작업 완료 이벤트로 커밋 버전이 바뀌므로 작업 전 결과를 캐시에서 읽지 않음
+        assertThat(memberJpaRepository.searchWhereParam(cond)).isEmpty();
+    }
+
+    private long countAgeGoe(int age) {
+        return em.createQuery("SELECT COUNT(m) FROM Member m WHERE m.age >= :age", Long.class)
+                .setParameter("age", age)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,74 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 생성한 데이터는 커밋되므로 테스트 트랜잭션 없이 실행하고 직접 정리
+* 부하 테스트로 분류 (./gradlew loadTest), -Dmember.load.rows=10000000 으로 대용량 적재 속도 확인 가능 (MemberDataGenerator가 rows/s 로그 출력)
+* */
+@Tag("load")
+@SpringBootTest
+class MemberDataGeneratorTest {
+
+    @Autowired
+    MemberDataGenerator memberDataGenerator;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    // 회원 변경 이벤트를 발행하는 벌크 삭제로 정리 (username 색인 / 스냅샷 / 팀 통계 갱신)
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberJpaRepository.bulkDelete(new MemberSearchCond());
+            em.createQuery("DELETE FROM Team t").executeUpdate();
+        });
+    }
+
+    @Test
+    public void 데이터_생성() {
+        int rows = Integer.getInteger("member.load.rows", 2000);
+
+        GenerationResult result = memberDataGenerator.generate(10, rows);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM member", Long.class)).isEqualTo(rows);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM team", Long.class)).isEqualTo(10);
+        assertThat(jdbcTemplate.queryForObject("SELECT MIN(age) FROM member", Integer.class)).isGreaterThanOrEqualTo(15);
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(age) FROM member", Integer.class)).isLessThanOrEqualTo(80);
+
+        // Zipf 분포: 첫 번째 팀이 마지막 팀보다 회원이 많음
+        String teamSize = "SELECT COUNT(*) FROM member m JOIN team t ON m.team_id = t.team_id WHERE t.name = ?";
+        assertThat(jdbcTemplate.queryForObject(teamSize, Long.class, "team1"))
+                .isGreaterThan(jdbcTemplate.queryForObject(teamSize, Long.class, "team10") * 3);
+
+        long sampleId = result.getFirstMemberId() + rows / 2;
+        assertThat(jdbcTemplate.queryForObject("SELECT username FROM member WHERE member_id = ?", String.class, sampleId))
+                .isEqualTo(memberDataGenerator.usernameOf(sampleId));
+
+        // 시퀀스를 재설정했으므로 JPA 저장 시 id 충돌 없음
+        Member saved = new TransactionTemplate(transactionManager).execute(status -> {
+            Member member = new Member("new", 20);
+            em.persist(member);
+            return member;
+        });
+        assertThat(saved.getId() < result.getFirstMemberId() || saved.getId() >= result.getFirstMemberId() + rows).isTrue();
+    }
+}
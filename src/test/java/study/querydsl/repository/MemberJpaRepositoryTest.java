@@ -1,18 +1,40 @@
 package study.querydsl.repository;
 
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberCursor;
+import study.querydsl.dto.MemberCursorResult;
 import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSort;
+import study.querydsl.dto.MemberTeamAgeDto;
+import study.querydsl.dto.MemberTeamColumns;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
 import study.querydsl.entity.Team;
+import study.querydsl.monitoring.StatementTracker;
 
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static study.querydsl.entity.QMember.member;
 
 @SpringBootTest
 @Transactional
@@ -22,6 +44,12 @@ class MemberJpaRepositoryTest {
     EntityManager em;
     @Autowired
     MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MemberSearchCache memberSearchCache;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MeterRegistry meterRegistry;
 
     /*
     * 순수 JPA 코드 Test
@@ -83,4 +111,482 @@ class MemberJpaRepositoryTest {
         assertThat(result).extracting("username").containsExactly("Member4");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void 페이징_조회() {
+        Team team1 = new Team("TeamA");
+        Team team2 = new Team("TeamB");
+        em.persist(team1);
+        em.persist(team2);
+
+        memberJpaRepository.save(new Member("Member1",10,team1));
+        memberJpaRepository.save(new Member("Member2",20,team1));
+        memberJpaRepository.save(new Member("Member3",30,team2));
+        memberJpaRepository.save(new Member("Member4",40,team2));
+
+        MemberSearchCond cond = new MemberSearchCond();
+        PageRequest pageRequest = PageRequest.of(0, 3);
+
+        Page<MemberTeamDto> result = memberJpaRepository.searchPage(cond, pageRequest);
+
+        assertThat(result.getSize()).isEqualTo(3);
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getContent()).extracting("username").containsExactly("Member1", "Member2", "Member3");
+
+        cond.setTeamName("TeamB");
+        Page<MemberTeamDto> teamResult = memberJpaRepository.searchPage(cond, pageRequest);
+
+        assertThat(teamResult.getTotalElements()).isEqualTo(2);
+        assertThat(teamResult.getContent()).extracting("username").containsExactly("Member3", "Member4");
+    }
+
+    @Test
+    public void 페이징_조회_2단계() {
+        Team team1 = new Team("TeamA");
+        Team team2 = new Team("TeamB");
+        em.persist(team1);
+        em.persist(team2);
+
+        for (int i = 1; i <= 10; i++) {
+            memberJpaRepository.save(new Member("Member" + i, i * 10, i % 2 == 0 ? team1 : team2));
+        }
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("TeamA");
+        PageRequest pageRequest = PageRequest.of(1, 2);
+
+        Page<MemberTeamDto> result = memberJpaRepository.searchPageByIds(cond, pageRequest);
+        Page<MemberTeamDto> expected = memberJpaRepository.searchPage(cond, pageRequest);
+
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getContent()).extracting("username").containsExactly("Member6", "Member8");
+        assertThat(result.getContent()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expected.getContent());
+    }
+
+    @Test
+    public void 정렬_조회() {
+        Team team1 = new Team("TeamA");
+        em.persist(team1);
+        memberJpaRepository.save(new Member("Member1", 20, team1));
+        memberJpaRepository.save(new Member("Member2", 10, team1));
+        memberJpaRepository.save(new Member("Member3", 20, team1));
+        memberJpaRepository.save(new Member(null, 30, team1));
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("TeamA");
+
+        cond.setSort(MemberSort.AGE_DESC);
+        assertThat(memberJpaRepository.searchWhereParam(cond)).extracting("username")
+                .containsExactly(null, "Member3", "Member1", "Member2");
+
+        cond.setSort(MemberSort.USERNAME_ASC);
+        assertThat(memberJpaRepository.searchWhereParam(cond)).extracting("username")
+                .containsExactly("Member1", "Member2", "Member3", null);
+
+        cond.setSort(MemberSort.AGE_ASC);
+        Page<MemberTeamDto> page = memberJpaRepository.searchPageByIds(cond, PageRequest.of(0, 2));
+        assertThat(page.getContent()).extracting("username").containsExactly("Member2", "Member1");
+    }
+
+    @Test
+    public void 커서_조회() {
+        Team team1 = new Team("TeamA");
+        em.persist(team1);
+
+        memberJpaRepository.save(new Member("Member3",10,team1));
+        memberJpaRepository.save(new Member("Member1",20,team1));
+        memberJpaRepository.save(new Member("Member2",30,team1));
+        memberJpaRepository.save(new Member(null,40,team1));
+        memberJpaRepository.save(new Member(null,50,team1));
+
+        MemberSearchCond cond = new MemberSearchCond();
+
+        MemberCursorResult first = memberJpaRepository.searchByCursor(cond, MemberCursor.first(true), 2);
+        assertThat(first.getContent()).extracting("username").containsExactly("Member1", "Member2");
+        assertThat(first.isHasNext()).isTrue();
+
+        // username이 null인 회원은 마지막에 member_id 순서
+        MemberCursor next = MemberCursor.decode(first.getNextCursor());
+        MemberCursorResult second = memberJpaRepository.searchByCursor(cond, next, 2);
+        assertThat(second.getContent()).extracting("username").containsExactly("Member3", null);
+        assertThat(second.isHasNext()).isTrue();
+
+        MemberCursor last = MemberCursor.decode(second.getNextCursor());
+        MemberCursorResult third = memberJpaRepository.searchByCursor(cond, last, 2);
+        assertThat(third.getContent()).extracting("age").containsExactly(50);
+        assertThat(third.isHasNext()).isFalse();
+        assertThat(third.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void 스트리밍_조회() {
+        Team team1 = new Team("TeamA");
+        em.persist(team1);
+
+        Member member1 = new Member("Member1",10,team1);
+        memberJpaRepository.save(member1);
+        memberJpaRepository.save(new Member("Member2",20,team1));
+        memberJpaRepository.save(new Member("Member3",30));
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setAgeGoe(20);
+
+        try (Stream<MemberTeamDto> stream = memberJpaRepository.streamWhereParam(cond)) {
+            List<String> usernames = stream.map(MemberTeamDto::getUsername).collect(Collectors.toList());
+            assertThat(usernames).containsExactlyInAnyOrder("Member2", "Member3");
+        }
+
+        try (Stream<Member> stream = memberJpaRepository.streamAll()) {
+            assertThat(stream.count()).isEqualTo(3);
+        }
+        try (Stream<Member> stream = memberJpaRepository.streamAllQuerydsl()) {
+            assertThat(stream.filter(m -> m.getId().equals(member1.getId())).findFirst())
+                    .hasValueSatisfying(m -> assertThat(m).isNotSameAs(member1));
+        }
+        // 스트림 이전부터 관리 중이던 엔티티는 그대로 관리 상태
+        assertThat(em.contains(member1)).isTrue();
+    }
+
+    @Test
+    public void 컬럼_조회() {
+        Team team1 = new Team("TeamA");
+        em.persist(team1);
+
+        memberJpaRepository.save(new Member("Member1", 10, team1));
+        memberJpaRepository.save(new Member("Member2", 20, team1));
+        memberJpaRepository.save(new Member("Member3", 30, team1));
+        memberJpaRepository.save(new Member("Member4", 40));
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setAgeGoe(20);
+        cond.setSort(MemberSort.AGE_DESC);
+
+        em.flush();
+        // Hibernate StatementInspector를 거치므로 SQL 수 메트릭에 포함
+        StatementTracker tracker = StatementTracker.start();
+        MemberTeamColumns columns;
+        try {
+            columns = memberJpaRepository.searchColumns(cond);
+            assertThat(tracker.getTotalCount()).isEqualTo(1);
+        } finally {
+            tracker.stop();
+        }
+        List<MemberTeamDto> expected = memberJpaRepository.searchWhereParam(cond);
+        assertThat(columns.size()).isEqualTo(expected.size());
+
+        MemberTeamColumns.Cursor cursor = columns.cursor();
+        for (MemberTeamDto dto : expected) {
+            assertThat(cursor.next()).isTrue();
+            assertThat(cursor.memberId()).isEqualTo(dto.getMemberId());
+            assertThat(cursor.username()).isEqualTo(dto.getUsername());
+            assertThat(cursor.age()).isEqualTo(dto.getAge());
+            assertThat(cursor.hasTeam()).isEqualTo(dto.getTeamId() != null);
+            assertThat(cursor.teamName()).isEqualTo(dto.getTeamName());
+        }
+        assertThat(cursor.next()).isFalse();
+        // 팀 이름은 팀마다 한 번만 읽음
+        assertThat(columns.getTeamName(1)).isSameAs(columns.getTeamName(2));
+
+        List<Integer> batchSizes = new ArrayList<>();
+        List<String> usernames = new ArrayList<>();
+        memberJpaRepository.streamColumns(cond, 2, batch -> {
+            batchSizes.add(batch.size());
+            for (MemberTeamColumns.Cursor rows = batch.cursor(); rows.next(); ) {
+                usernames.add(rows.username());
+            }
+        });
+        assertThat(batchSizes).containsExactly(2, 1);
+        assertThat(usernames).containsExactly("Member4", "Member3", "Member2");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void 검색_결과_캐시() {
+        // 쓰기 트랜잭션 안에서는 캐시를 사용하지 않으므로 트랜잭션을 나눠서 확인
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long teamId = tx.execute(status -> {
+            Team team1 = new Team("CacheTeam");
+            em.persist(team1);
+            memberJpaRepository.save(new Member("Member1", 10, team1));
+            return team1.getId();
+        });
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("CacheTeam");
+        MemberSearchCond blankCond = new MemberSearchCond();
+        blankCond.setTeamName("CacheTeam");
+        blankCond.setUsername(" ");
+
+        long hitCount = memberSearchCache.stats().hitCount();
+        List<MemberTeamDto> first = memberJpaRepository.searchWhereParam(cond);
+        List<MemberTeamDto> second = memberJpaRepository.searchWhereParam(blankCond);
+
+        assertThat(second).isSameAs(first);
+        assertThat(memberSearchCache.stats().hitCount()).isEqualTo(hitCount + 1);
+
+        // 커밋 전 변경은 같은 트랜잭션에서만 보이고, 롤백되면 캐시에 남지 않음
+        tx.executeWithoutResult(status -> {
+            memberJpaRepository.save(new Member("Member2", 20, em.find(Team.class, teamId)));
+            assertThat(memberJpaRepository.searchWhereParam(cond)).extracting("username")
+                    .containsExactlyInAnyOrder("Member1", "Member2");
+            status.setRollbackOnly();
+        });
+        assertThat(memberJpaRepository.searchWhereParam(cond)).extracting("username").containsExactly("Member1");
+
+        // 커밋 후 무효화
+        tx.executeWithoutResult(status -> memberJpaRepository.save(new Member("Member3", 30, em.find(Team.class, teamId))));
+        assertThat(memberJpaRepository.searchWhereParam(cond)).extracting("username")
+                .containsExactlyInAnyOrder("Member1", "Member3");
+
+        tx.executeWithoutResult(status -> {
+            memberJpaRepository.bulkDelete(cond);
+            em.remove(em.find(Team.class, teamId));
+        });
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void 이차_캐시() {
+        // 같은 트랜잭션에서 저장한 엔티티는 커밋 전까지 2차 캐시에 저장되지 않으므로 트랜잭션을 나눠서 확인
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Member member = tx.execute(status -> {
+            Team team1 = new Team("TeamA");
+            em.persist(team1);
+            Member saved = new Member("Member1", 10, team1);
+            memberJpaRepository.save(saved);
+            return saved;
+        });
+        Long teamId = member.getTeam().getId();
+
+        Cache cache = em.getEntityManagerFactory().getCache();
+        cache.evictAll();
+
+        tx.executeWithoutResult(status -> memberJpaRepository.findById(member.getId()).get().getTeam().getName());
+        assertThat(cache.contains(Member.class, member.getId())).isTrue();
+        assertThat(cache.contains(Team.class, teamId)).isTrue();
+
+        tx.executeWithoutResult(status -> {
+            em.remove(em.find(Member.class, member.getId()));
+            em.remove(em.find(Team.class, teamId));
+        });
+    }
+
+    /*
+    * saveAll: chunk-size(1000) 단위로 flush / clear
+    * 건별 저장과의 처리 시간 비교는 MemberSaveLoadTest (./gradlew loadTest)
+    * */
+    @Test
+    public void 대량_저장() {
+        Team team1 = new Team("TeamA");
+        em.persist(team1);
+        Member before = new Member("before", 1, team1);
+        memberJpaRepository.save(before);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            members.add(new Member("batch" + i, i % 100, team1));
+        }
+        memberJpaRepository.saveAll(members);
+
+        assertThat(members).allMatch(member -> member.getId() != null);
+        // 저장이 끝나면 영속성 컨텍스트가 비워짐
+        assertThat(members).noneMatch(em::contains);
+        assertThat(em.contains(before)).isFalse();
+        assertThat(memberJpaRepository.findAll()).hasSize(2501);
+
+        memberJpaRepository.saveAll(new ArrayList<>());
+        assertThat(memberJpaRepository.findAll()).hasSize(2501);
+    }
+
+    /*
+    * 벌크 연산 후 em.clear() 없이 관리 중인 엔티티가 DB와 일치하는지 확인
+    * */
+    @Test
+    public void 벌크_수정() {
+        Team team1 = new Team("TeamA");
+        em.persist(team1);
+        Member member1 = new Member("Member1", 10, team1);
+        Member member2 = new Member("Member2", 20, team1);
+        Member member3 = new Member("Member3", 30, team1);
+        memberJpaRepository.save(member1);
+        memberJpaRepository.save(member2);
+        memberJpaRepository.save(member3);
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setAgeLoe(20);
+
+        assertThat(memberJpaRepository.bulkAgePlus(cond, 1)).isEqualTo(2);
+        assertThat(member1.getAge()).isEqualTo(11);
+        assertThat(member2.getAge()).isEqualTo(21);
+        assertThat(member3.getAge()).isEqualTo(30);
+
+        cond.setAgeLoe(11);
+        assertThat(memberJpaRepository.bulkRename(cond, "renamed")).isEqualTo(1);
+        assertThat(member1.getUsername()).isEqualTo("renamed");
+        assertThat(em.find(Member.class, member1.getId())).isSameAs(member1);
+
+        // refresh로 스냅샷도 다시 읽었으므로 flush 시 추가 UPDATE 없음
+        StatementTracker tracker = StatementTracker.start();
+        try {
+            em.flush();
+            assertThat(tracker.getTotalCount()).isZero();
+        } finally {
+            tracker.stop();
+        }
+
+        List<Object[]> rows = em.createQuery("SELECT m.username, m.age FROM Member m ORDER BY m.id", Object[].class)
+                .getResultList();
+        assertThat(rows).extracting(row -> row[0] + ":" + row[1])
+                .containsExactly("renamed:11", "Member2:21", "Member3:30");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void 벌크_연산은_대상만_2차_캐시에서_제거() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Long> ids = tx.execute(status -> {
+            Team team1 = new Team("BulkCacheTeam");
+            em.persist(team1);
+            Member member1 = new Member("BulkCache1", 10, team1);
+            Member member2 = new Member("BulkCache2", 30, team1);
+            memberJpaRepository.save(member1);
+            memberJpaRepository.save(member2);
+            return List.of(member1.getId(), member2.getId());
+        });
+        Long member1Id = ids.get(0);
+        Long member2Id = ids.get(1);
+
+        Cache cache = em.getEntityManagerFactory().getCache();
+        tx.executeWithoutResult(status -> {
+            em.find(Member.class, member1Id);
+            em.find(Member.class, member2Id);
+        });
+        assertThat(cache.contains(Member.class, member1Id)).isTrue();
+        assertThat(cache.contains(Member.class, member2Id)).isTrue();
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("BulkCacheTeam");
+        cond.setAgeLoe(20);
+        Long updated = tx.execute(status -> memberJpaRepository.bulkAgePlus(cond, 1));
+        assertThat(updated).isEqualTo(1);
+
+        assertThat(cache.contains(Member.class, member1Id)).isFalse();
+        assertThat(cache.contains(Member.class, member2Id)).isTrue();
+        Integer age = tx.execute(status -> em.find(Member.class, member1Id).getAge());
+        assertThat(age).isEqualTo(11);
+
+        MemberSearchCond teamCond = new MemberSearchCond();
+        teamCond.setTeamName("BulkCacheTeam");
+        tx.executeWithoutResult(status -> {
+            Long teamId = em.find(Member.class, member2Id).getTeam().getId();
+            memberJpaRepository.bulkDelete(teamCond);
+            em.remove(em.find(Team.class, teamId));
+        });
+    }
+
+    @Test
+    public void 벌크_삭제() {
+        Team team1 = new Team("TeamA");
+        em.persist(team1);
+        Member member1 = new Member("Member1", 10, team1);
+        Member member2 = new Member("Member2", 20, team1);
+        memberJpaRepository.save(member1);
+        memberJpaRepository.save(member2);
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("TeamA");
+        cond.setAgeGoe(20);
+
+        assertThat(memberJpaRepository.bulkDelete(cond)).isEqualTo(1);
+        assertThat(em.contains(member2)).isFalse();
+        assertThat(em.contains(member1)).isTrue();
+        assertThat(team1.getMembers()).containsExactly(member1);
+        assertThat(em.find(Member.class, member2.getId())).isNull();
+    }
+
+    @Test
+    public void 쿼리_템플릿() {
+        Team team1 = new Team("TeamA");
+        em.persist(team1);
+        memberJpaRepository.save(new Member("Member1", 10, team1));
+        memberJpaRepository.save(new Member("Member2", 20, team1));
+        memberJpaRepository.save(new Member("Member3", 30));
+
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("TeamA");
+        cond.setAgeGoe(15);
+        assertThat(memberJpaRepository.searchWhereParam(cond)).extracting("username").containsExactly("Member2");
+
+        double hits = meterRegistry.get("member.query.template")
+                .tag("name", "searchWhereParam").tag("result", "hit").counter().count();
+
+        double planHits = meterRegistry.get("member.query.plan-cache").tag("result", "hit").functionCounter().count();
+
+        // 같은 조건 조합, 다른 값 → 직렬화된 JPQL 재사용
+        cond.setAgeGoe(5);
+        assertThat(memberJpaRepository.searchWhereParam(cond)).extracting("username")
+                .containsExactlyInAnyOrder("Member1", "Member2");
+        assertThat(meterRegistry.get("member.query.template")
+                .tag("name", "searchWhereParam").tag("result", "hit").counter().count()).isEqualTo(hits + 1);
+        // 같은 JPQL 문자열이므로 Hibernate QueryPlanCache 적중
+        assertThat(meterRegistry.get("member.query.plan-cache").tag("result", "hit").functionCounter().count())
+                .isGreaterThan(planHits);
+
+        assertThat(memberJpaRepository.findByUsernameQuerydsl("Member3")).extracting("age").containsExactly(30);
+    }
+
+    @Test
+    public void 팀_집계_조회() {
+        Team team1 = new Team("TeamA");
+        Team team2 = new Team("TeamB");
+        em.persist(team1);
+        em.persist(team2);
+        memberJpaRepository.save(new Member("Member1", 10, team1));
+        memberJpaRepository.save(new Member("Member2", 30, team1));
+        memberJpaRepository.save(new Member("Member3", 30, team1));
+        memberJpaRepository.save(new Member("Member4", 20, team2));
+        memberJpaRepository.save(new Member("Member5", 40, team2));
+        memberJpaRepository.save(new Member("Member6", 50));
+
+        // 비교 대상: 상관 서브쿼리
+        QMember memberSub = new QMember("memberSub");
+        List<Long> oldest = new JPAQueryFactory(em)
+                .select(member.id)
+                .from(member)
+                .where(member.age.eq(JPAExpressions
+                        .select(memberSub.age.max())
+                        .from(memberSub)
+                        .where(memberSub.team.eq(member.team))))
+                .orderBy(member.id.asc())
+                .fetch();
+
+        assertThat(memberJpaRepository.findOldestInTeam()).extracting("memberId").isEqualTo(oldest);
+        assertThat(memberJpaRepository.findOldestInTeam()).extracting("username")
+                .containsExactly("Member2", "Member3", "Member5");
+        assertThat(memberJpaRepository.findAboveTeamAverage()).extracting("username")
+                .containsExactly("Member2", "Member3", "Member5");
+
+        List<MemberTeamAgeDto> stats = memberJpaRepository.findWithTeamAgeStats();
+        assertThat(stats).extracting("username")
+                .containsExactly("Member1", "Member2", "Member3", "Member4", "Member5");
+        assertThat(stats.get(0).getTeamAvgAge()).isCloseTo(70 / 3.0, within(1e-9));
+        assertThat(stats).extracting("teamMinAge").containsExactly(10, 10, 10, 20, 20);
+        assertThat(stats).extracting("teamMaxAge").containsExactly(30, 30, 30, 40, 40);
+    }
+
+    @Test
+    public void 쿼리_메트릭() {
+        memberJpaRepository.save(new Member("member1", 10));
+        memberJpaRepository.save(new Member("member2", 20));
+
+        memberJpaRepository.findAllQuerydsl();
+
+        Timer timer = meterRegistry.get("member.repository.query").tag("query", "findAllQuerydsl").timer();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("member.repository.query.rows").tag("query", "findAllQuerydsl")
+                .summary().max()).isEqualTo(2);
+        assertThat(meterRegistry.get("member.repository.query.statements").tag("query", "findAllQuerydsl")
+                .summary().max()).isGreaterThanOrEqualTo(1);
+    }
+
+}
@@ -0,0 +1,63 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 건별 저장(persist + flush) vs saveAll(chunk 단위 JDBC 배치 INSERT) 처리 시간 비교
+* 저장한 데이터는 테스트 트랜잭션 롤백으로 제거
+* 실행: ./gradlew loadTest -Dmember.load.rows=1000000
+* */
+@Tag("load")
+@SpringBootTest(properties = {
+        "decorator.datasource.enabled=false",
+        "logging.level.org.hibernate.SQL=warn"
+})
+@Transactional
+class MemberSaveLoadTest {
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    EntityManager em;
+
+    @Test
+    public void 건별_저장_saveAll_비교() {
+        int rows = Integer.getInteger("member.load.rows", 100_000);
+        Team team1 = new Team("LoadTeam");
+        em.persist(team1);
+        em.flush();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            memberJpaRepository.save(new Member("single" + i, i % 100, team1));
+            // 건별 INSERT 왕복, 영속성 컨텍스트가 커지지 않도록 바로 비움
+            em.flush();
+            em.clear();
+        }
+        long singleMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<Member> members = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            members.add(new Member("batch" + i, i % 100, team1));
+        }
+        start = System.nanoTime();
+        memberJpaRepository.saveAll(members);
+        long batchMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("rows = %d / 건별 저장 = %d ms / saveAll = %d ms (%.1fx)%n",
+                rows, singleMillis, batchMillis, (double) singleMillis / Math.max(batchMillis, 1));
+        assertThat(members).allMatch(member -> member.getId() != null);
+    }
+}
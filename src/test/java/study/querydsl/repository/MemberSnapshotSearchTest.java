@@ -0,0 +1,169 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.MemberSort;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 스냅샷은 커밋된 데이터로 만들어지므로 테스트 트랜잭션 없이 실행하고 직접 정리
+* 자동 갱신은 테스트 중에 일어나지 않도록 지연을 길게 설정하고 refresh()를 직접 호출
+* */
+@SpringBootTest(properties = {
+        "member.snapshot.enabled=true",
+        "member.snapshot.refresh-interval=1h",
+        "member.snapshot.refresh-delay=1h"
+})
+class MemberSnapshotSearchTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MemberSnapshotSearch memberSnapshotSearch;
+    @Autowired
+    TeamJpaRepository teamJpaRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("TeamA");
+            Team teamB = new Team("TeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            List<Member> members = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                Team team = i % 5 == 0 ? null : i % 2 == 0 ? teamA : teamB;
+                members.add(new Member(i % 7 == 0 ? "dup" : "member" + i, i % 20 + 10, team));
+            }
+            memberJpaRepository.saveAll(members);
+        });
+        memberSnapshotSearch.refresh();
+    }
+
+    // 회원 변경 이벤트를 발행하는 벌크 삭제로 정리 (username 색인 / 스냅샷 / 팀 통계 갱신)
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            memberJpaRepository.bulkDelete(new MemberSearchCond());
+            em.createQuery("DELETE FROM Team t").executeUpdate();
+        });
+    }
+
+    @Test
+    public void 스냅샷_검색() {
+        List<MemberSearchCond> conditions = new ArrayList<>();
+        conditions.add(cond(null, null, null, null, null));
+        conditions.add(cond("dup", null, null, null, MemberSort.AGE_DESC));
+        conditions.add(cond("dup", "TeamA", null, null, null));
+        conditions.add(cond(null, "TeamB", 15, 25, MemberSort.AGE_ASC));
+        conditions.add(cond(null, "TeamC", null, null, null));
+        conditions.add(cond("", "", null, 12, MemberSort.ID_DESC));
+        conditions.add(cond("member3", null, 30, null, null));
+
+        for (MemberSearchCond condition : conditions) {
+            List<MemberTeamDto> rows = memberSnapshotSearch.search(condition).orElseThrow();
+            if (condition.getSort() == null) {
+                assertThat(rows).as(condition.toString())
+                        .containsExactlyInAnyOrderElementsOf(memberJpaRepository.searchByBuilder(condition));
+            } else {
+                // 정렬은 같은 정렬을 적용하는 페이징 조회와 비교
+                assertThat(rows).as(condition.toString())
+                        .containsExactlyElementsOf(memberJpaRepository.searchPage(condition, PageRequest.of(0, 1000)).getContent());
+            }
+        }
+
+        // username 정렬은 DB에서 조회
+        assertThat(memberSnapshotSearch.search(cond(null, null, null, null, MemberSort.USERNAME_ASC))).isEmpty();
+    }
+
+    @Test
+    public void 변경_후_갱신() {
+        MemberSearchCond cond = cond(null, "TeamA", null, null, null);
+        int before = memberSnapshotSearch.search(cond).orElseThrow().size();
+
+        tx.executeWithoutResult(status -> {
+            Team teamA = em.createQuery("SELECT t FROM Team t WHERE t.name = 'TeamA'", Team.class).getSingleResult();
+            memberJpaRepository.save(new Member("new", 99, teamA));
+        });
+
+        // 갱신 전에는 DB 조회로 대체 (커밋된 변경이 바로 보임)
+        assertThat(memberSnapshotSearch.search(cond)).isEmpty();
+        assertThat(memberJpaRepository.searchWhereParam(cond)).hasSize(before + 1);
+
+        memberSnapshotSearch.refresh();
+
+        assertThat(memberSnapshotSearch.search(cond)).hasValueSatisfying(rows -> assertThat(rows).hasSize(before + 1));
+    }
+
+    @Test
+    public void 팀_이름_변경_후_갱신() {
+        MemberSearchCond cond = cond(null, "TeamA", null, null, null);
+        int before = memberSnapshotSearch.search(cond).orElseThrow().size();
+
+        Long teamAId = tx.execute(status -> em
+                .createQuery("SELECT t.id FROM Team t WHERE t.name = 'TeamA'", Long.class)
+                .getSingleResult());
+        teamJpaRepository.rename(teamAId, "TeamZ");
+
+        // 스냅샷은 이전 팀 이름을 보관하므로 갱신 전에는 DB 조회로 대체
+        assertThat(memberSnapshotSearch.search(cond)).isEmpty();
+        assertThat(memberJpaRepository.searchWhereParam(cond)).isEmpty();
+
+        memberSnapshotSearch.refresh();
+
+        assertThat(memberSnapshotSearch.search(cond)).hasValueSatisfying(rows -> assertThat(rows).isEmpty());
+        assertThat(memberSnapshotSearch.search(cond(null, "TeamZ", null, null, null)))
+                .hasValueSatisfying(rows -> assertThat(rows).hasSize(before).allMatch(row -> row.getTeamName().equals("TeamZ")));
+    }
+
+    @Test
+    public void 쓰기_트랜잭션에서는_DB_조회() {
+        MemberSearchCond cond = cond(null, "TeamA", null, null, null);
+        int before = memberSnapshotSearch.search(cond).orElseThrow().size();
+
+        tx.executeWithoutResult(status -> {
+            Team teamA = em.createQuery("SELECT t FROM Team t WHERE t.name = 'TeamA'", Team.class).getSingleResult();
+            em.persist(new Member("uncommitted", 99, teamA));
+            em.flush();
+
+            // 커밋 전 자기 변경이 보여야 하므로 스냅샷을 사용하지 않음
+            assertThat(memberSnapshotSearch.search(cond)).isEmpty();
+            assertThat(memberJpaRepository.searchWhereParam(cond)).hasSize(before + 1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(memberSnapshotSearch.search(cond)).hasValueSatisfying(rows -> assertThat(rows).hasSize(before));
+    }
+
+    private MemberSearchCond cond(String username, String teamName, Integer ageGoe, Integer ageLoe, MemberSort sort) {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setUsername(username);
+        cond.setTeamName(teamName);
+        cond.setAgeGoe(ageGoe);
+        cond.setAgeLoe(ageLoe);
+        cond.setSort(sort);
+        return cond;
+    }
+}
@@ -0,0 +1,106 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.UsernameMatch;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 색인은 커밋 후 갱신되므로 테스트 트랜잭션 없이 실행하고 직접 정리
+* */
+@SpringBootTest
+class MemberUsernameIndexTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MemberUsernameIndex memberUsernameIndex;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("TeamA");
+            em.persist(team);
+            memberJpaRepository.save(new Member("Kim100", 10, team));
+            memberJpaRepository.saveAll(Arrays.asList(
+                    new Member("kim200", 20, team),
+                    new Member("lee100", 30, team),
+                    new Member("park", 40),
+                    new Member(null, 50)));
+        });
+    }
+
+    // 회원 변경 이벤트를 발행하는 벌크 삭제로 정리 (username 색인 / 스냅샷 / 팀 통계 갱신)
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            memberJpaRepository.bulkDelete(new MemberSearchCond());
+            em.createQuery("DELETE FROM Team t").executeUpdate();
+        });
+    }
+
+    @Test
+    public void 접두어_부분일치_검색() {
+        assertThat(memberUsernameIndex.isReady()).isTrue();
+
+        assertThat(memberJpaRepository.searchByUsername("kim", UsernameMatch.PREFIX, 10))
+                .extracting("username").containsExactly("Kim100", "kim200");
+        assertThat(memberJpaRepository.searchByUsername("K", UsernameMatch.PREFIX, 1))
+                .extracting("username").containsExactly("Kim100");
+        assertThat(memberJpaRepository.searchByUsername("100", UsernameMatch.CONTAINS, 10))
+                .extracting("username").containsExactly("Kim100", "lee100");
+        // 3글자 미만 부분 일치는 색인 대신 DB에서 조회
+        assertThat(memberUsernameIndex.supports("ar", UsernameMatch.CONTAINS)).isFalse();
+        assertThat(memberJpaRepository.searchByUsername("ar", UsernameMatch.CONTAINS, 10))
+                .extracting("username").containsExactly("park");
+        assertThat(memberJpaRepository.searchByUsername("im1", UsernameMatch.PREFIX, 10)).isEmpty();
+        assertThat(memberJpaRepository.searchByUsername("kim100", UsernameMatch.EXACT, 10)).isEmpty();
+        assertThat(memberJpaRepository.searchByUsername("Kim100", UsernameMatch.EXACT, 10))
+                .extracting("teamName").containsExactly("TeamA");
+    }
+
+    @Test
+    public void 커밋_후_갱신() {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setUsername("lee100");
+        tx.executeWithoutResult(status -> memberJpaRepository.bulkRename(cond, "choi300"));
+
+        assertThat(memberJpaRepository.searchByUsername("lee", UsernameMatch.PREFIX, 10)).isEmpty();
+        assertThat(memberJpaRepository.searchByUsername("oi3", UsernameMatch.CONTAINS, 10))
+                .extracting("username").containsExactly("choi300");
+
+        // 롤백된 저장은 색인되지 않음
+        tx.executeWithoutResult(status -> {
+            memberJpaRepository.save(new Member("kim300", 60));
+            status.setRollbackOnly();
+        });
+        assertThat(memberJpaRepository.searchByUsername("kim", UsernameMatch.PREFIX, 10))
+                .extracting("username").containsExactly("Kim100", "kim200");
+
+        MemberSearchCond deleteCond = new MemberSearchCond();
+        deleteCond.setAgeLoe(10);
+        tx.executeWithoutResult(status -> memberJpaRepository.bulkDelete(deleteCond));
+
+        assertThat(memberJpaRepository.searchByUsername("kim", UsernameMatch.PREFIX, 10))
+                .extracting("username").containsExactly("kim200");
+    }
+}
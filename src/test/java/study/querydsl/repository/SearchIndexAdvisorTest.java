@@ -0,0 +1,61 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.repository.SearchIndexAdvisor.ShapeReport;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SearchIndexAdvisorTest {
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void 조건_조합별_실행_계획() {
+        // local 프로파일 전용 빈이므로 직접 생성
+        SearchIndexAdvisor advisor = new SearchIndexAdvisor(memberJpaRepository, jdbcTemplate);
+
+        List<ShapeReport> reports = advisor.advise();
+        // 실패 시 조건 조합별 전체 스캔 테이블을 함께 출력
+        String summary = reports.stream()
+                .map(report -> report.getConditions() + " → " + report.getFullScans())
+                .collect(Collectors.joining("\n"));
+
+        assertThat(reports).as(summary).hasSize(16);
+        assertThat(report(reports, List.of())).as(summary).isNotEmpty();
+        assertThat(report(reports, List.of("username"))).as(summary).doesNotContain("MEMBER");
+        assertThat(report(reports, List.of("teamName"))).as(summary).isEmpty();
+    }
+
+    @Test
+    public void 실행_계획의_파라미터_위치로_바인딩() {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setAgeLoe(20);
+        cond.setUsername("member1");
+        cond.setAgeGoe(10);
+        cond.setTeamName("teamA");
+
+        QueryTemplate.SqlStatement statement = memberJpaRepository.bindSearch(cond).toSql();
+        assertThat(statement.getSql()).doesNotContain("?1");
+        assertThat(statement.getParameterValues()).containsExactly("member1", "teamA", 10, 20);
+        assertThat(jdbcTemplate.query(statement.getSql(), statement::bind, (rs, rowNum) -> rs.getLong(1))).isEmpty();
+    }
+
+    private List<String> report(List<ShapeReport> reports, List<String> conditions) {
+        return reports.stream()
+                .filter(report -> report.getConditions().equals(conditions))
+                .findFirst()
+                .orElseThrow()
+                .getFullScans();
+    }
+}
@@ -0,0 +1,78 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.monitoring.QueryCountExtension;
+import study.querydsl.monitoring.StatementTracker;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@ExtendWith(QueryCountExtension.class)
+class TeamJpaRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TeamJpaRepository teamJpaRepository;
+
+    @BeforeEach
+    public void before() {
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("Team" + i);
+            teamJpaRepository.save(team);
+            em.persist(new Member("member" + i + "_1", 10, team));
+            em.persist(new Member("member" + i + "_2", 20, team));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void 페치조인_조회(StatementTracker tracker) {
+        tracker.reset();
+
+        List<Team> teams = teamJpaRepository.findAllWithMembers(TeamMemberFetch.FETCH_JOIN);
+
+        assertThat(teams).hasSize(3);
+        assertThat(teams).allMatch(team -> team.getMembers().size() == 2);
+        assertThat(tracker.getTotalCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void 페치조인_페이징(StatementTracker tracker) {
+        tracker.reset();
+
+        Page<Team> page = teamJpaRepository.findWithMembers(PageRequest.of(0, 2), TeamMemberFetch.FETCH_JOIN);
+
+        assertThat(page.getContent()).extracting("name").containsExactly("Team0", "Team1");
+        assertThat(page.getContent()).allMatch(team -> team.getMembers().size() == 2);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        // 팀 ID 페이징 + 페치 조인 + 카운트
+        assertThat(tracker.getTotalCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void 배치_페이징(StatementTracker tracker) {
+        tracker.reset();
+
+        Page<Team> page = teamJpaRepository.findWithMembers(PageRequest.of(0, 2), TeamMemberFetch.BATCH);
+
+        assertThat(page.getContent()).extracting("name").containsExactly("Team0", "Team1");
+        assertThat(page.getContent()).allMatch(team -> team.getMembers().size() == 2);
+        // 팀 페이징 + members IN 배치 조회 + 카운트
+        assertThat(tracker.getTotalCount()).isEqualTo(3);
+    }
+}
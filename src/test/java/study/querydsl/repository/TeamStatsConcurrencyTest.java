@@ -0,0 +1,132 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.monitoring.StatementTracker;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 저장분은 커밋 직전에 누적되므로 커밋되는 트랜잭션이 필요한 테스트는 TeamStatsRepositoryTest(테스트 트랜잭션 롤백)와 분리
+* */
+@SpringBootTest
+class TeamStatsConcurrencyTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void 같은_팀_첫_회원_동시_저장() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Team team = tx.execute(status -> {
+            Team raceTeam = new Team("StatsRaceTeam");
+            em.persist(raceTeam);
+            return raceTeam;
+        });
+
+        CountDownLatch firstSaved = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // 첫 번째 트랜잭션: 같은 트랜잭션에서 통계를 조회해서 롤업 행을 만든 뒤 커밋하지 않고 대기
+            Future<?> first = executor.submit(() -> tx.executeWithoutResult(status -> {
+                memberJpaRepository.save(new Member("raceMember1", 10, team));
+                teamStatsRepository.findByTeamId(team.getId());
+                firstSaved.countDown();
+                await(commitFirst);
+            }));
+            assertThat(firstSaved.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // 두 번째 트랜잭션도 누적할 행을 보지 못하고 재계산 → 팀 잠금을 기다림
+            Future<?> second = executor.submit(() -> tx.executeWithoutResult(status ->
+                    memberJpaRepository.save(new Member("raceMember2", 30, team))));
+            Thread.sleep(200);
+            commitFirst.countDown();
+
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+
+            TeamStatsDto stats = teamStatsRepository.findByTeamId(team.getId()).orElseThrow();
+            assertThat(stats.getMemberCount()).isEqualTo(2);
+            assertThat(stats.getAgeSum()).isEqualTo(40);
+            assertThat(stats.getMinAge()).isEqualTo(10);
+            assertThat(stats.getMaxAge()).isEqualTo(30);
+        } finally {
+            commitFirst.countDown();
+            executor.shutdown();
+            MemberSearchCond cond = new MemberSearchCond();
+            cond.setTeamName("StatsRaceTeam");
+            tx.executeWithoutResult(status -> {
+                memberJpaRepository.bulkDelete(cond);
+                em.remove(em.find(Team.class, team.getId()));
+            });
+        }
+    }
+
+    @Test
+    public void 반복_저장은_커밋_시_한_번_누적() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Team team = tx.execute(status -> {
+            Team loopTeam = new Team("StatsLoopTeam");
+            em.persist(loopTeam);
+            return loopTeam;
+        });
+
+        StatementTracker tracker = StatementTracker.start();
+        try {
+            tx.executeWithoutResult(status -> {
+                for (int i = 1; i <= 30; i++) {
+                    memberJpaRepository.save(new Member("loopMember" + i, i, team));
+                }
+            });
+            // 저장 횟수와 무관: JDBC 배치 INSERT + 커밋 직전 롤업 갱신 + 커밋 후 username 색인 갱신
+            assertThat(tracker.getTotalCount()).isLessThanOrEqualTo(10);
+            assertThat(tracker.repeatedShapes(2)).isEmpty();
+        } finally {
+            tracker.stop();
+        }
+
+        try {
+            TeamStatsDto stats = teamStatsRepository.findByTeamId(team.getId()).orElseThrow();
+            assertThat(stats.getMemberCount()).isEqualTo(30);
+            assertThat(stats.getAgeSum()).isEqualTo(465);
+            assertThat(stats.getMinAge()).isEqualTo(1);
+            assertThat(stats.getMaxAge()).isEqualTo(30);
+        } finally {
+            MemberSearchCond cond = new MemberSearchCond();
+            cond.setTeamName("StatsLoopTeam");
+            tx.executeWithoutResult(status -> {
+                memberJpaRepository.bulkDelete(cond);
+                em.remove(em.find(Team.class, team.getId()));
+            });
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCond;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TeamStatsRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+
+    Team teamA;
+    Team teamB;
+    Team teamC;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("StatsTeamA");
+        teamB = new Team("StatsTeamB");
+        teamC = new Team("StatsTeamC");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(teamC);
+
+        memberJpaRepository.save(new Member("statsMember1", 10, teamA));
+        memberJpaRepository.save(new Member("statsMember2", 20, teamA));
+
+        List<Member> members = new ArrayList<>();
+        members.add(new Member("statsMember3", 30, teamA));
+        members.add(new Member("statsMember4", 40, teamB));
+        members.add(new Member("statsMember5", 50, null));
+        memberJpaRepository.saveAll(members);
+    }
+
+    @Test
+    public void 저장_시_누적() {
+        assertStats(teamA, 3, 60, 10, 30);
+        assertStats(teamB, 1, 40, 40, 40);
+
+        TeamStatsDto empty = teamStatsRepository.findByTeamId(teamC.getId()).orElseThrow();
+        assertThat(empty.getMemberCount()).isZero();
+        assertThat(empty.getAvgAge()).isNull();
+
+        assertThat(teamStatsRepository.findAll())
+                .extracting("teamName")
+                .contains("StatsTeamA", "StatsTeamB", "StatsTeamC");
+    }
+
+    @Test
+    public void 벌크_연산_시_재계산() {
+        MemberSearchCond cond = new MemberSearchCond();
+        cond.setTeamName("StatsTeamA");
+        cond.setAgeLoe(20);
+        memberJpaRepository.bulkAgePlus(cond, 5);
+
+        assertStats(teamA, 3, 70, 15, 30);
+
+        // username 변경은 팀 통계에 영향 없음 → 재계산하지 않음 (이벤트 없이 바꾼 나이가 그대로 남아 있음)
+        em.createQuery("update Member m set m.age = 99 where m.username = 'statsMember4'").executeUpdate();
+        cond.setTeamName("StatsTeamB");
+        cond.setAgeLoe(null);
+        memberJpaRepository.bulkRename(cond, "renamed");
+        assertStats(teamB, 1, 40, 40, 40);
+        em.createQuery("update Member m set m.age = 40 where m.username = 'renamed'").executeUpdate();
+
+        MemberSearchCond deleteCond = new MemberSearchCond();
+        deleteCond.setAgeGoe(30);
+        deleteCond.setAgeLoe(40);
+        memberJpaRepository.bulkDelete(deleteCond);
+
+        assertStats(teamA, 2, 40, 15, 25);
+        assertThat(teamStatsRepository.findByTeamId(teamB.getId()).orElseThrow().getMemberCount()).isZero();
+    }
+
+    @Test
+    public void 전체_재구성() {
+        // 모아 둔 저장분을 먼저 반영 (반영 전에 추가된 회원은 첫 회원 재계산에 포함됨)
+        assertStats(teamB, 1, 40, 40, 40);
+
+        // 이벤트 없이 변경된 회원 (증분 갱신 누락)
+        em.persist(new Member("statsMember6", 90, teamB));
+        em.flush();
+        assertStats(teamB, 1, 40, 40, 40);
+
+        teamStatsRepository.rebuild();
+
+        assertStats(teamB, 2, 130, 40, 90);
+        assertStats(teamA, 3, 60, 10, 30);
+    }
+
+    private void assertStats(Team target, long count, long sum, int min, int max) {
+        TeamStatsDto stats = teamStatsRepository.findByTeamId(target.getId()).orElseThrow();
+        assertThat(stats.getMemberCount()).isEqualTo(count);
+        assertThat(stats.getAgeSum()).isEqualTo(sum);
+        assertThat(stats.getAvgAge()).isEqualTo((double) sum / count);
+        assertThat(stats.getMinAge()).isEqualTo(min);
+        assertThat(stats.getMaxAge()).isEqualTo(max);
+    }
+}